@@ -0,0 +1,95 @@
+package com.smart.jwtsecurity.audit;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.smart.jwtsecurity.config.AuditProperties;
+import com.smart.jwtsecurity.config.AuditProperties.Backpressure;
+import com.smart.jwtsecurity.metrics.AuthMetrics.LoginOutcome;
+
+/**
+ * Cost of auditing one login on the request thread, 8 threads.
+ *
+ * "drop" / "block": AuthAuditLog (ring buffer + batched writer) with that
+ * backpressure; the writer's progress is printed at teardown.
+ * "sync": one single-row INSERT per event on the caller, the baseline.
+ *
+ * Database: in-memory H2, so "sync" is a lower bound; a networked
+ * database adds a round-trip per login.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthAuditLogBenchmark {
+
+    private static final String INSERT = """
+            INSERT INTO login_events (occurred_at, event_type, outcome, username, client_ip)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    @Param({ "drop", "block", "sync" })
+    public String mode;
+
+    JdbcTemplate database;
+    AuthAuditLog audit;
+
+    @Setup
+    public void setup() {
+
+        database = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:audit" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        database.execute("""
+                CREATE TABLE login_events (
+                    id          BIGINT PRIMARY KEY AUTO_INCREMENT,
+                    occurred_at BIGINT NOT NULL,
+                    event_type  VARCHAR(20) NOT NULL,
+                    outcome     VARCHAR(20),
+                    username    VARCHAR(150),
+                    client_ip   VARCHAR(45) NOT NULL
+                )
+                """);
+
+        if (!"sync".equals(mode)) {
+            AuditProperties properties = new AuditProperties();
+            properties.setBackpressure(Backpressure.valueOf(mode.toUpperCase()));
+            audit = new AuthAuditLog(database, properties);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        if (audit != null) {
+            audit.shutdown();
+            System.out.printf("%n[%s] written=%d dropped=%d failed=%d%n",
+                    mode, audit.writtenCount(), audit.droppedCount(), audit.failedCount());
+        }
+    }
+
+    @Benchmark
+    public void loginFailed() {
+        if (audit != null) {
+            audit.loginFailed("admin", "10.0.0.1", LoginOutcome.BAD_CREDENTIALS);
+        } else {
+            database.update(INSERT, System.currentTimeMillis(), "LOGIN_FAILURE", "BAD_CREDENTIALS", "admin", "10.0.0.1");
+        }
+    }
+}
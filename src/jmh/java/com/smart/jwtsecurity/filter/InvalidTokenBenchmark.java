@@ -0,0 +1,193 @@
+package com.smart.jwtsecurity.filter;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.smart.jwtsecurity.audit.AuthAuditLog;
+import com.smart.jwtsecurity.config.JwtProperties;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.security.JwtAuthenticationEntryPoint;
+import com.smart.jwtsecurity.util.JwtFixtures;
+import com.smart.jwtsecurity.util.JwtUtil;
+import com.smart.jwtsecurity.util.VerifiedTokenCache;
+
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rejected tokens under load: JwtAuthorizationFilter, then the 401 body.
+ *
+ * "filter": the production path (non-throwing validation, preallocated
+ * body written as bytes).
+ * "throwing": the previous path for comparison (JJWT exception caught per
+ * request, body encoded through the Writer every time).
+ *
+ * The response's OutputStream takes bulk writes like a container's does;
+ * MockHttpServletResponse's own stream copies byte by byte.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class InvalidTokenBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        @Param({ "garbage", "malformed", "badSignature", "expired" })
+        public String token;
+
+        JwtUtil jwtUtil;
+        JwtAuthorizationFilter filter;
+        final JwtAuthenticationEntryPoint entryPoint = new JwtAuthenticationEntryPoint();
+        String header;
+
+        @Setup
+        public void setup() {
+            JwtProperties properties = JwtFixtures.properties();
+            jwtUtil = JwtFixtures.jwtUtil(properties);
+
+            JdbcTemplate database = JwtFixtures.database();
+            filter = new JwtAuthorizationFilter(
+                    new VerifiedTokenCache(jwtUtil, properties, AuthMetrics.DISABLED),
+                    JwtFixtures.tokenDenylist(database, properties, 0),
+                    JwtFixtures.tokenVersions(database, properties),
+                    AuthMetrics.DISABLED,
+                    AuthAuditLog.DISABLED
+            );
+
+            String valid = jwtUtil.generateToken(JwtFixtures.admin(), 0);
+            header = "Bearer " + switch (token) {
+                case "garbage" -> "not-a-jwt";
+                case "malformed" -> valid.substring(0, valid.indexOf('.') + 1) + "e30";
+                case "badSignature" -> tamper(valid);
+                case "expired" -> {
+                    JwtProperties expired = JwtFixtures.properties();
+                    expired.setExpirationMs(-60_000);
+                    yield JwtFixtures.jwtUtil(expired).generateToken(JwtFixtures.admin(), 0);
+                }
+                default -> throw new IllegalArgumentException(token);
+            };
+        }
+
+        /**
+         * Flips a character in the middle of the signature (the last one
+         * may only carry padding bits).
+         */
+        private static String tamper(String token) {
+            int i = token.lastIndexOf('.') + 10;
+            char c = token.charAt(i);
+            return token.substring(0, i) + (c == 'A' ? 'B' : 'A') + token.substring(i + 1);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        MockHttpServletRequest request;
+        BulkResponse response;
+        final FilterChain chain = (req, res) -> { };
+
+        @Setup
+        public void setup(Shared shared) {
+            request = new MockHttpServletRequest("GET", "/api/user");
+            request.addHeader("Authorization", shared.header);
+            response = new BulkResponse();
+        }
+    }
+
+    static final class BulkResponse extends MockHttpServletResponse {
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+
+        private final ServletOutputStream stream = new ServletOutputStream() {
+
+            @Override
+            public void write(int b) {
+                body.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                body.write(b, off, len);
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return stream;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            body.reset();
+        }
+    }
+
+    @Benchmark
+    public int filter(Shared shared, Exchange exchange) throws Exception {
+
+        exchange.response.reset();
+        try {
+            shared.filter.doFilter(exchange.request, exchange.response, exchange.chain);
+            if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                shared.entryPoint.commence(exchange.request, exchange.response, null);
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return exchange.response.body.size();
+    }
+
+    @Benchmark
+    public int throwing(Shared shared, Exchange exchange) throws Exception {
+
+        exchange.response.reset();
+        try {
+            shared.jwtUtil.validateToken(exchange.request.getHeader("Authorization").substring(7));
+        } catch (JwtException | IllegalArgumentException ex) {
+            exchange.response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            exchange.response.setContentType("application/json");
+            exchange.response.getWriter().write("""
+                {
+                  "status": 401,
+                  "error": "UNAUTHORIZED",
+                  "message": "Authentication required or token invalid"
+                }
+            """);
+        }
+        return exchange.response.getContentAsByteArray().length;
+    }
+}
@@ -0,0 +1,93 @@
+package com.smart.jwtsecurity.filter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.smart.jwtsecurity.audit.AuthAuditLog;
+import com.smart.jwtsecurity.config.JwtProperties;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.util.JwtFixtures;
+import com.smart.jwtsecurity.util.JwtUtil;
+import com.smart.jwtsecurity.util.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Full JwtAuthorizationFilter pass (header extraction, verification,
+ * denylist probe, token version check, SecurityContext population) with mock servlet objects.
+ * The denylist holds 10k revocations; the token is not one of them.
+ * metricsEnabled=false must match the uninstrumented numbers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthorizationFilterBenchmark {
+
+    @Param({ "true", "false" })
+    public boolean cacheEnabled;
+
+    @Param({ "false", "true" })
+    public boolean compactRoles;
+
+    @Param({ "false", "true" })
+    public boolean metricsEnabled;
+
+    private JwtAuthorizationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private final FilterChain chain = (req, res) -> { };
+
+    @Setup
+    public void setup() {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.getCache().setEnabled(cacheEnabled);
+        properties.setCompactRoles(compactRoles);
+
+        AuthMetrics metrics = metricsEnabled
+                ? new AuthMetrics(new SimpleMeterRegistry())
+                : AuthMetrics.DISABLED;
+
+        JwtUtil jwtUtil = JwtFixtures.jwtUtil(properties);
+        JdbcTemplate database = JwtFixtures.database();
+        filter = new JwtAuthorizationFilter(
+                new VerifiedTokenCache(jwtUtil, properties, metrics),
+                JwtFixtures.tokenDenylist(database, properties, 10_000),
+                JwtFixtures.tokenVersions(database, properties),
+                metrics,
+                AuthAuditLog.DISABLED
+        );
+
+        request = new MockHttpServletRequest("GET", "/api/user");
+        request.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(JwtFixtures.admin(), 0));
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Object doFilter() throws Exception {
+        try {
+            filter.doFilter(request, response, chain);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
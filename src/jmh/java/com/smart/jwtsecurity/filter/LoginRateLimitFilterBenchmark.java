@@ -0,0 +1,86 @@
+package com.smart.jwtsecurity.filter;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.smart.jwtsecurity.audit.AuthAuditLog;
+import com.smart.jwtsecurity.config.RateLimitProperties;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.ratelimit.InMemoryRateLimitStore;
+
+import jakarta.servlet.FilterChain;
+
+/**
+ * LoginRateLimitFilter under contention.
+ *
+ * "shared": every thread hammers the same client IP (one hot key).
+ * "distinct": every invocation uses a fresh IP (key-space growth).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class LoginRateLimitFilterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+
+        @Param({ "shared", "distinct" })
+        public String keys;
+
+        LoginRateLimitFilter filter;
+        final AtomicInteger sequence = new AtomicInteger();
+
+        @Setup
+        public void setup() {
+            filter = new LoginRateLimitFilter(
+                    new InMemoryRateLimitStore(new RateLimitProperties()), AuthMetrics.DISABLED, AuthAuditLog.DISABLED);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Exchange {
+
+        MockHttpServletRequest request;
+        MockHttpServletResponse response;
+        final FilterChain chain = (req, res) -> { };
+
+        @Setup
+        public void setup() {
+            request = new MockHttpServletRequest("POST", "/login");
+            request.setRemoteAddr("10.0.0.1");
+            response = new MockHttpServletResponse();
+        }
+    }
+
+    @Benchmark
+    public int login(Shared shared, Exchange exchange) throws Exception {
+
+        if ("distinct".equals(shared.keys)) {
+            int n = shared.sequence.incrementAndGet();
+            exchange.request.setRemoteAddr(
+                    "10." + ((n >>> 16) & 0xff) + "." + ((n >>> 8) & 0xff) + "." + (n & 0xff));
+        }
+
+        exchange.response.reset();
+        shared.filter.doFilter(exchange.request, exchange.response, exchange.chain);
+        return exchange.response.getStatus();
+    }
+}
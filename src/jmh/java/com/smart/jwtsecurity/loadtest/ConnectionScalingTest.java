@@ -0,0 +1,167 @@
+package com.smart.jwtsecurity.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Connection-scaling comparison of the servlet and reactive editions.
+ *
+ * For each concurrency level, that many requests are kept in flight
+ * (closed loop, each on its own keep-alive connection) for a fixed
+ * duration. One JSON line per level: throughput, errors and latency
+ * percentiles. Requests are sent asynchronously from a few threads, so
+ * the client itself does not need a thread per connection.
+ *
+ * Usage: ConnectionScalingTest [baseUrl] [path] [seconds] [levels...]
+ *
+ * e.g. ConnectionScalingTest http://localhost:9199 /api/user 20 64 256 1024
+ *
+ * Authenticated paths get an admin token from /login first.
+ * For path /login the target must run with a raised limit, e.g.
+ * --rate-limit.max-attempts=1000000000
+ */
+public final class ConnectionScalingTest {
+
+    private static final String LOGIN_BODY =
+            "{\"usernameOrEmail\":\"admin\",\"password\":\"admin123\"}";
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\":\"([^\"]+)\"");
+
+    private static final int MAX_SAMPLES = 1 << 22;
+
+    private ConnectionScalingTest() {}
+
+    public static void main(String[] args) throws Exception {
+
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:9099";
+        String path = args.length > 1 ? args[1] : "/api/user";
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        int[] levels = args.length > 3
+                ? Arrays.stream(args, 3, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[] { 64, 256, 1024 };
+
+        HttpRequest request = "/login".equals(path)
+                ? login(baseUrl)
+                : HttpRequest.newBuilder(URI.create(baseUrl + path))
+                        .header("Authorization", "Bearer " + accessToken(baseUrl))
+                        .GET()
+                        .build();
+
+        // Warm-up at the lowest level, not reported
+        run(request, levels[0], Math.min(seconds, 5));
+
+        for (int connections : levels) {
+            System.out.println(run(request, connections, seconds));
+        }
+    }
+
+    private static String run(HttpRequest request, int connections, int seconds) throws InterruptedException {
+
+        ExecutorService callbacks = Executors.newFixedThreadPool(4);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(callbacks)
+                .build();
+
+        long[] samples = new long[MAX_SAMPLES];
+        AtomicInteger sampled = new AtomicInteger();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(connections);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        for (int c = 0; c < connections; c++) {
+            new Client(http, request, deadline, samples, sampled, completed, errors, done).next();
+        }
+        done.await(seconds + 60L, TimeUnit.SECONDS);
+        callbacks.shutdownNow();
+
+        int n = Math.min(sampled.get(), MAX_SAMPLES);
+        long[] sorted = Arrays.copyOf(samples, n);
+        Arrays.sort(sorted);
+
+        return String.format(
+                "{\"connections\":%d,\"seconds\":%d,\"requests\":%d,\"errors\":%d,"
+                        + "\"rps\":%.1f,\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}",
+                connections, seconds, completed.get(), errors.get(),
+                completed.get() / (double) seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 1.0));
+    }
+
+    /**
+     * One connection's closed loop: the next request is sent from the
+     * previous one's completion.
+     */
+    private record Client(
+            HttpClient http,
+            HttpRequest request,
+            long deadline,
+            long[] samples,
+            AtomicInteger sampled,
+            AtomicLong completed,
+            AtomicLong errors,
+            CountDownLatch done
+    ) {
+
+        void next() {
+
+            if (System.nanoTime() >= deadline) {
+                done.countDown();
+                return;
+            }
+
+            long start = System.nanoTime();
+            http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, ex) -> {
+                        if (ex != null || response.statusCode() != 200) {
+                            errors.incrementAndGet();
+                        }
+                        completed.incrementAndGet();
+                        int i = sampled.getAndIncrement();
+                        if (i < samples.length) {
+                            samples[i] = System.nanoTime() - start;
+                        }
+                        next();
+                    });
+        }
+    }
+
+    private static HttpRequest login(String baseUrl) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(LOGIN_BODY))
+                .build();
+    }
+
+    private static String accessToken(String baseUrl) throws Exception {
+
+        HttpResponse<String> response = HttpClient.newHttpClient()
+                .send(login(baseUrl), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ACCESS_TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login failed: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,143 @@
+package com.smart.jwtsecurity.provisioning;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.smart.jwtsecurity.config.UserImportProperties;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Bulk import throughput: one run imports `users` NDJSON records into
+ * empty tables (real schema.sql).
+ *
+ * - batched: UserImporter, multi-row inserts per chunk
+ * - rowByRow: one users INSERT + one user_roles INSERT per record, one
+ *   transaction each (what a save() loop with IDENTITY ids amounts to)
+ *
+ * Passwords are "encoded" with a trivial encoder so the numbers show the
+ * write path; hashing cost is covered by PasswordEncoderBenchmark.
+ *
+ * Runs on in-memory H2 (MySQL mode) by default, which has neither network
+ * round trips nor commit fsyncs and so understates the gap. Point it at a
+ * file database or a real server with -Djdbc.url=... -Djdbc.user=...
+ * -Djdbc.password=... (the users / user_roles tables are emptied).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 10)
+@Fork(1)
+public class UserImportBenchmark {
+
+    private static final PasswordEncoder CHEAP_ENCODER = new PasswordEncoder() {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{noop}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    @Param({ "10000" })
+    public int users;
+
+    @Param({ "500" })
+    public int chunkSize;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private UserImporter importer;
+    private String body;
+
+    @Setup(Level.Trial)
+    public void setup() {
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                System.getProperty("jdbc.url",
+                        "jdbc:h2:mem:import" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"),
+                System.getProperty("jdbc.user", "sa"),
+                System.getProperty("jdbc.password", ""));
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        UserImportProperties properties = new UserImportProperties();
+        properties.setChunkSize(chunkSize);
+        importer = new UserImporter(jdbcTemplate, transactionTemplate, CHEAP_ENCODER,
+                JsonMapper.builder().build(), properties);
+
+        StringBuilder ndjson = new StringBuilder(users * 96);
+        for (int i = 0; i < users; i++) {
+            ndjson.append("{\"username\":\"user").append(i)
+                    .append("\",\"email\":\"user").append(i)
+                    .append("@bench.local\",\"password\":\"secret").append(i)
+                    .append("\",\"roles\":[\"ROLE_USER\"]}\n");
+        }
+        body = ndjson.toString();
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        jdbcTemplate.update("DELETE FROM user_roles");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        importer.shutdown();
+    }
+
+    @Benchmark
+    public long batched() throws IOException {
+        return importer.importUsers(new StringReader(body), ImportFormat.NDJSON, report -> { }).created();
+    }
+
+    @Benchmark
+    public long rowByRow() {
+
+        long created = 0;
+        for (int i = 0; i < users; i++) {
+            String username = "user" + i;
+            String password = CHEAP_ENCODER.encode("secret" + i);
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(
+                        "INSERT INTO users (username, email, password, enabled) VALUES (?, ?, ?, TRUE)",
+                        username, username + "@bench.local", password);
+                jdbcTemplate.update(
+                        "INSERT INTO user_roles (user_id, role) SELECT id, 'ROLE_USER' FROM users WHERE username = ?",
+                        username);
+            });
+            created++;
+        }
+        return created;
+    }
+}
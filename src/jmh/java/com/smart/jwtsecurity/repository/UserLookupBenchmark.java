@@ -0,0 +1,201 @@
+package com.smart.jwtsecurity.repository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Authentication lookup SQL against a large users table.
+ *
+ * - legacyOr:       what findByUsernameOrEmail issues (OR query + roles select)
+ * - username/email: the single join query behind findForAuthentication
+ *
+ * Runs on embedded H2 (MySQL mode) by default. Point it at a real server with
+ * -Djdbc.url=... -Djdbc.user=... -Djdbc.password=... ; the users / user_roles
+ * tables are created and seeded only if empty.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class UserLookupBenchmark {
+
+    private static final String LEGACY_USER =
+            "SELECT id, username, email, password, enabled FROM users WHERE username = ? OR email = ?";
+
+    private static final String LEGACY_ROLES =
+            "SELECT role FROM user_roles WHERE user_id = ?";
+
+    private static final String BY_USERNAME = """
+            SELECT u.id, u.username, u.password, u.enabled, r.role
+            FROM users u LEFT JOIN user_roles r ON r.user_id = u.id
+            WHERE u.username = ?
+            """;
+
+    private static final String BY_EMAIL = """
+            SELECT u.id, u.username, u.password, u.enabled, r.role
+            FROM users u LEFT JOIN user_roles r ON r.user_id = u.id
+            WHERE u.email = ?
+            """;
+
+    @Param({ "2000000" })
+    public int users;
+
+    private Connection connection;
+    private PreparedStatement legacyUser;
+    private PreparedStatement legacyRoles;
+    private PreparedStatement byUsername;
+    private PreparedStatement byEmail;
+
+    @Setup(Level.Trial)
+    public void setup() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("jdbc.url",
+                        "jdbc:h2:mem:lookup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"),
+                System.getProperty("jdbc.user", "sa"),
+                System.getProperty("jdbc.password", ""));
+
+        seed();
+
+        legacyUser = connection.prepareStatement(LEGACY_USER);
+        legacyRoles = connection.prepareStatement(LEGACY_ROLES);
+        byUsername = connection.prepareStatement(BY_USERNAME);
+        byEmail = connection.prepareStatement(BY_EMAIL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int legacyOr() throws SQLException {
+        String username = randomUsername();
+        legacyUser.setString(1, username);
+        legacyUser.setString(2, username);
+
+        long id = -1;
+        try (ResultSet rs = legacyUser.executeQuery()) {
+            if (rs.next()) {
+                id = rs.getLong(1);
+            }
+        }
+
+        legacyRoles.setLong(1, id);
+        return drain(legacyRoles);
+    }
+
+    @Benchmark
+    public int username() throws SQLException {
+        byUsername.setString(1, randomUsername());
+        return drain(byUsername);
+    }
+
+    @Benchmark
+    public int email() throws SQLException {
+        byEmail.setString(1, randomUsername() + "@bench.local");
+        return drain(byEmail);
+    }
+
+    private String randomUsername() {
+        return "user" + ThreadLocalRandom.current().nextInt(users);
+    }
+
+    private static int drain(PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+
+    private void seed() throws SQLException {
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                    CREATE TABLE IF NOT EXISTS users (
+                        id BIGINT PRIMARY KEY AUTO_INCREMENT,
+                        username VARCHAR(100) NOT NULL,
+                        email    VARCHAR(150) NOT NULL,
+                        password VARCHAR(255) NOT NULL,
+                        enabled  BOOLEAN NOT NULL DEFAULT TRUE,
+                        CONSTRAINT uk_users_username UNIQUE (username),
+                        CONSTRAINT uk_users_email    UNIQUE (email)
+                    )""");
+            ddl.execute("""
+                    CREATE TABLE IF NOT EXISTS user_roles (
+                        user_id BIGINT NOT NULL,
+                        role    VARCHAR(50) NOT NULL,
+                        PRIMARY KEY (user_id, role)
+                    )""");
+
+            try (ResultSet rs = ddl.executeQuery("SELECT COUNT(*) FROM users")) {
+                rs.next();
+                if (rs.getLong(1) >= users) {
+                    return;
+                }
+            }
+        }
+
+        String hash = "$2a$10$7EqJtq98hPqEX7fNZaFWoO5p6r1Yw2c6bZr3Qn1l8m3hQ8aYw1G2e";
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+
+        try (PreparedStatement user = connection.prepareStatement(
+                     "INSERT INTO users (id, username, email, password, enabled) VALUES (?, ?, ?, ?, TRUE)");
+             PreparedStatement role = connection.prepareStatement(
+                     "INSERT INTO user_roles (user_id, role) VALUES (?, ?)")) {
+
+            for (int i = 0; i < users; i++) {
+                user.setLong(1, i + 1);
+                user.setString(2, "user" + i);
+                user.setString(3, "user" + i + "@bench.local");
+                user.setString(4, hash);
+                user.addBatch();
+
+                role.setLong(1, i + 1);
+                role.setString(2, "ROLE_USER");
+                role.addBatch();
+                if (i % 10 == 0) {
+                    role.setLong(1, i + 1);
+                    role.setString(2, "ROLE_ADMIN");
+                    role.addBatch();
+                }
+
+                if (i % 10_000 == 9_999) {
+                    user.executeBatch();
+                    role.executeBatch();
+                    connection.commit();
+                }
+            }
+            user.executeBatch();
+            role.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
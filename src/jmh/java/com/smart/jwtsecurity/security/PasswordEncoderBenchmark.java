@@ -0,0 +1,76 @@
+package com.smart.jwtsecurity.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+/**
+ * Verification latency (matches) per encoder and cost, to choose
+ * password.encoder and its cost settings from data.
+ *
+ * Encoder spec:
+ * - bcrypt:STRENGTH
+ * - argon2:MEMORY_KB:ITERATIONS   (parallelism 1)
+ * - pbkdf2:ITERATIONS             (HMAC-SHA256)
+ *
+ * Defaults in application.yml: bcrypt:10, argon2:19456:2, pbkdf2:310000.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "admin123";
+
+    @Param({
+            "bcrypt:4", "bcrypt:8", "bcrypt:10", "bcrypt:12",
+            "argon2:19456:2", "argon2:47104:1",
+            "pbkdf2:310000", "pbkdf2:600000"
+    })
+    public String encoderSpec;
+
+    private PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setup() {
+        encoder = create(encoderSpec);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    private static PasswordEncoder create(String spec) {
+
+        String[] parts = spec.split(":");
+        return switch (parts[0]) {
+            case "bcrypt" -> new BCryptPasswordEncoder(Integer.parseInt(parts[1]));
+            case "argon2" -> new Argon2PasswordEncoder(
+                    16, 32, 1, Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+            case "pbkdf2" -> new Pbkdf2PasswordEncoder(
+                    "", 16, Integer.parseInt(parts[1]),
+                    Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+            default -> throw new IllegalArgumentException("Unknown encoder: " + spec);
+        };
+    }
+}
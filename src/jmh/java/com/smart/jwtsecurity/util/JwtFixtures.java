@@ -0,0 +1,95 @@
+package com.smart.jwtsecurity.util;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.smart.jwtsecurity.config.JwtProperties;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.token.RevokedTokenStore;
+import com.smart.jwtsecurity.token.TokenDenylist;
+import com.smart.jwtsecurity.token.TokenVersions;
+
+/**
+ * Shared wiring for benchmarks.
+ *
+ * Builds the production beans by hand (no Spring context), so each
+ * benchmark measures only the code path under test.
+ */
+public final class JwtFixtures {
+
+    public static final String SECRET =
+            "ltQzfVOu2PKIbR50oYndykRFWMsrS4hsCxcw2pErx6A0//UdGeplbHCqnz3jlQILIYGZFaAOGs7yX3FWM4ZHuQ==";
+
+    public static final String ISSUER = "smart-auth-service";
+
+    private JwtFixtures() {}
+
+    public static JwtProperties properties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setIssuer(ISSUER);
+        properties.setExpirationMs(900_000);
+        return properties;
+    }
+
+    public static JwtUtil jwtUtil(JwtProperties properties) {
+        JwtUtil jwtUtil = new JwtUtil(properties, new JwtKeyring(properties), AuthMetrics.DISABLED);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    public static JwtUtil jwtUtil() {
+        return jwtUtil(properties());
+    }
+
+    /**
+     * Private in-memory H2 database with the tables the token checks read.
+     */
+    public static JdbcTemplate database() {
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:tokens" + System.nanoTime() + ";MODE=MySQL;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("""
+                CREATE TABLE revoked_tokens (
+                    jti VARCHAR(32) PRIMARY KEY,
+                    expires_at BIGINT NOT NULL,
+                    revoked_at BIGINT NOT NULL
+                )
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE users (
+                    username VARCHAR(100) PRIMARY KEY,
+                    token_version INT NOT NULL DEFAULT 0,
+                    token_version_at BIGINT NOT NULL DEFAULT 0
+                )
+                """);
+        return jdbcTemplate;
+    }
+
+    /**
+     * Denylist pre-filled with revoked random jtis so the Bloom filter is
+     * realistically populated.
+     */
+    public static TokenDenylist tokenDenylist(JdbcTemplate jdbcTemplate, JwtProperties properties, int revoked) {
+
+        RevokedTokenStore store = new RevokedTokenStore(jdbcTemplate);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < revoked; i++) {
+            store.insert("revoked-" + i, now + 3_600_000, now);
+        }
+        return new TokenDenylist(store, properties);
+    }
+
+    public static TokenVersions tokenVersions(JdbcTemplate jdbcTemplate, JwtProperties properties) {
+        return new TokenVersions(jdbcTemplate, properties);
+    }
+
+    public static UserDetails admin() {
+        return User.withUsername("admin")
+                .password("{noop}unused")
+                .authorities("ROLE_ADMIN", "ROLE_USER")
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package com.smart.jwtsecurity.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Current JwtUtil vs. the original per-call builder/parser code.
+ *
+ * Run with -prof gc (default in the benchmark profile) to compare
+ * allocation per operation as well as latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtIssuanceBenchmark {
+
+    private JwtUtil jwtUtil;
+    private Key legacyKey;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = JwtFixtures.jwtUtil();
+        legacyKey = Keys.hmacShaKeyFor(JwtFixtures.SECRET.getBytes(StandardCharsets.UTF_8));
+        user = JwtFixtures.admin();
+        token = jwtUtil.generateToken(user, 0);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(user, 0);
+    }
+
+    @Benchmark
+    public String legacyGenerateToken() {
+
+        List<String> roles = user.getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+
+        long now = System.currentTimeMillis();
+
+        return Jwts.builder()
+                .setSubject(user.getUsername())
+                .setIssuer(JwtFixtures.ISSUER)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 900_000))
+                .claim("roles", roles)
+                .signWith(legacyKey, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    @Benchmark
+    public Claims validateToken() {
+        return jwtUtil.validateToken(token);
+    }
+
+    @Benchmark
+    public Claims legacyValidateToken() {
+
+        return Jwts.parserBuilder()
+                .requireIssuer(JwtFixtures.ISSUER)
+                .setSigningKey(legacyKey)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
@@ -0,0 +1,76 @@
+package com.smart.jwtsecurity.util;
+
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.smart.jwtsecurity.config.JwtProperties;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Sign and verify cost per algorithm, through JwtUtil with a generated
+ * key ring. HS256 is the shared-secret baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtSigningBenchmark {
+
+    @Param({ "HS256", "ES256", "ES384", "RS256" })
+    public String algorithm;
+
+    private JwtUtil jwtUtil;
+    private UserDetails user;
+    private String token;
+
+    @Setup
+    public void setup() {
+        JwtProperties properties = JwtFixtures.properties();
+
+        if (!"HS256".equals(algorithm)) {
+            KeyPair pair = Keys.keyPairFor(SignatureAlgorithm.forName(algorithm));
+
+            JwtProperties.SigningKey key = new JwtProperties.SigningKey();
+            key.setKid("bench");
+            key.setAlgorithm(algorithm);
+            key.setPublicKey(Base64.getEncoder().encodeToString(pair.getPublic().getEncoded()));
+            key.setPrivateKey(Base64.getEncoder().encodeToString(pair.getPrivate().getEncoded()));
+
+            properties.getSigning().setKeys(List.of(key));
+            properties.getSigning().setActiveKid("bench");
+        }
+
+        jwtUtil = JwtFixtures.jwtUtil(properties);
+        user = JwtFixtures.admin();
+        token = jwtUtil.generateToken(user, 0);
+    }
+
+    @Benchmark
+    public String sign() {
+        return jwtUtil.generateToken(user, 0);
+    }
+
+    @Benchmark
+    public Object verify() {
+        return jwtUtil.validateToken(token);
+    }
+}
@@ -0,0 +1,111 @@
+package com.smart.jwtsecurity.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.smart.jwtsecurity.config.JwtProperties;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JwtUtil.validateToken for the three shapes seen in production:
+ * valid, expired, and badly-signed tokens.
+ *
+ * verifiedJjwt / verifiedFast compare the full token → TokenValidation
+ * step (cache off) through JJWT and through FastTokenVerifier.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private JwtUtil jwtUtil;
+    private String validToken;
+    private String expiredToken;
+    private String badSignatureToken;
+    private VerifiedTokenCache jjwtVerifier;
+    private VerifiedTokenCache fastVerifier;
+
+    @Setup
+    public void setup() {
+        JwtProperties properties = JwtFixtures.properties();
+        properties.getCache().setEnabled(false);
+        jwtUtil = JwtFixtures.jwtUtil(properties);
+
+        properties.setFastVerify(false);
+        jjwtVerifier = new VerifiedTokenCache(jwtUtil, properties, AuthMetrics.DISABLED);
+        properties.setFastVerify(true);
+        fastVerifier = new VerifiedTokenCache(jwtUtil, properties, AuthMetrics.DISABLED);
+        validToken = jwtUtil.generateToken(JwtFixtures.admin(), 0);
+
+        long past = System.currentTimeMillis() - 3_600_000;
+        expiredToken = Jwts.builder()
+                .setSubject("admin")
+                .setIssuer(JwtFixtures.ISSUER)
+                .setIssuedAt(new Date(past))
+                .setExpiration(new Date(past + 60_000))
+                .claim("roles", List.of("ROLE_ADMIN", "ROLE_USER"))
+                .signWith(
+                        Keys.hmacShaKeyFor(JwtFixtures.SECRET.getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256
+                )
+                .compact();
+
+        char last = validToken.charAt(validToken.length() - 1);
+        badSignatureToken = validToken.substring(0, validToken.length() - 1)
+                + (last == 'A' ? 'B' : 'A');
+    }
+
+    @Benchmark
+    public Object valid() {
+        return jwtUtil.validateToken(validToken);
+    }
+
+    @Benchmark
+    public Object verifiedJjwt() {
+        return jjwtVerifier.validate(validToken);
+    }
+
+    @Benchmark
+    public Object verifiedFast() {
+        return fastVerifier.validate(validToken);
+    }
+
+    @Benchmark
+    public Object expired() {
+        return validateCatching(expiredToken);
+    }
+
+    @Benchmark
+    public Object badSignature() {
+        return validateCatching(badSignatureToken);
+    }
+
+    private Object validateCatching(String token) {
+        try {
+            return jwtUtil.validateToken(token);
+        } catch (JwtException ex) {
+            return ex;
+        }
+    }
+}
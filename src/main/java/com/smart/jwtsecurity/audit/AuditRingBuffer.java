@@ -0,0 +1,108 @@
+package com.smart.jwtsecurity.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free ring buffer: many producers, one consumer.
+ *
+ * Each slot carries a sequence number (Vyukov's bounded queue):
+ * - slot free for position p    ⇔ sequence == p
+ * - slot filled for position p  ⇔ sequence == p + 1
+ *
+ * A producer claims a position with one CAS on the tail and publishes
+ * its element with a release store of the slot's sequence; the consumer
+ * reads it after an acquire load of the same sequence. offer() never
+ * blocks and never allocates: when the ring is full it returns false and
+ * the caller decides what to do.
+ */
+final class AuditRingBuffer<E> {
+
+    private final Object[] elements;
+    private final AtomicLongArray sequences;
+    private final int mask;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Next position to consume. Written by the consumer only.
+     */
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.elements = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds the element, or returns false if the ring is full.
+     */
+    boolean offer(E element) {
+
+        long position = tail.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.getAcquire(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.setRelease(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // Slot still holds the element from one lap ago
+                return false;
+            } else {
+                // Another producer took this position
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Moves up to max published elements into target, in order.
+     * Consumer thread only.
+     */
+    @SuppressWarnings("unchecked")
+    int drainTo(List<? super E> target, int max) {
+
+        long position = head;
+        int drained = 0;
+
+        while (drained < max) {
+            int index = (int) (position & mask);
+            if (sequences.getAcquire(index) != position + 1) {
+                break;
+            }
+            target.add((E) elements[index]);
+            elements[index] = null;
+            sequences.setRelease(index, position + elements.length);
+            position++;
+            drained++;
+        }
+
+        head = position;
+        return drained;
+    }
+
+    /**
+     * Approximate number of buffered elements.
+     */
+    int size() {
+        return (int) Math.max(0, Math.min(elements.length, tail.get() - head));
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+}
@@ -0,0 +1,290 @@
+package com.smart.jwtsecurity.audit;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.smart.jwtsecurity.audit.AuthEvent.Type;
+import com.smart.jwtsecurity.config.AuditProperties;
+import com.smart.jwtsecurity.config.AuditProperties.Backpressure;
+import com.smart.jwtsecurity.metrics.AuthMetrics.LoginOutcome;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Durable audit trail of authentication events (login_events table).
+ *
+ * Request threads only publish into a bounded lock-free ring buffer; the
+ * single audit-writer thread drains it and writes up to
+ * audit.batch-size rows per multi-row INSERT. A full batch is written
+ * right away, anything less at the latest after audit.flush-interval-ms.
+ *
+ * When the buffer is full (audit.backpressure):
+ * - DROP: the event is discarded and counted, the request goes on
+ * - BLOCK: the request wakes the writer and waits up to
+ *   audit.block-timeout-ms for space, then drops
+ *
+ * Token rejections are the one event anyone can produce at will, so
+ * they get a lower priority: they may only fill
+ * audit.token-rejection-share of the buffer, and are dropped rather
+ * than blocked on. The remainder is kept for login events.
+ *
+ * A batch that cannot be written, for whatever reason, is logged and
+ * counted as failed, not retried, so an outage can never back up into
+ * the login path and the writer thread never dies.
+ */
+@Slf4j
+@Component
+public class AuthAuditLog {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO login_events (occurred_at, event_type, outcome, username, client_ip) VALUES ";
+
+    private static final String ROW = "(?, ?, ?, ?, ?)";
+
+    private static final int COLUMNS = 5;
+
+    // Column sizes in schema.sql; longer submitted values are cut
+    private static final int MAX_USERNAME = 150;
+    private static final int MAX_CLIENT_IP = 45;
+
+    private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /**
+     * Records nothing; publishing returns on a null check.
+     */
+    public static final AuthAuditLog DISABLED = new AuthAuditLog(null, disabledProperties());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditRingBuffer<AuthEvent> buffer;
+    private final Backpressure backpressure;
+    private final long blockTimeoutNanos;
+    private final long flushIntervalNanos;
+    private final int batchSize;
+
+    /**
+     * Buffered events beyond which token rejections are dropped.
+     */
+    private final int tokenRejectionLimit;
+
+    /**
+     * Statement for a full batch; shorter batches build their own.
+     */
+    private final String fullBatchInsert;
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder tokenRejectionsDropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder written = new LongAdder();
+
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuthAuditLog(JdbcTemplate jdbcTemplate, AuditProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backpressure = properties.getBackpressure();
+        this.blockTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(properties.getBlockTimeoutMs());
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(properties.getFlushIntervalMs());
+        this.batchSize = properties.getBatchSize();
+        this.fullBatchInsert = insert(batchSize);
+
+        if (!properties.isEnabled()) {
+            this.buffer = null;
+            this.tokenRejectionLimit = 0;
+            this.writer = null;
+            return;
+        }
+
+        this.buffer = new AuditRingBuffer<>(properties.getCapacity());
+        this.tokenRejectionLimit = (int) (buffer.capacity() * properties.getTokenRejectionShare());
+        this.writer = new Thread(this::drainLoop, "audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void loginSucceeded(String username, String clientIp) {
+        publish(Type.LOGIN_SUCCESS, LoginOutcome.SUCCESS.name(), username, clientIp);
+    }
+
+    public void loginFailed(String username, String clientIp, LoginOutcome outcome) {
+        publish(Type.LOGIN_FAILURE, outcome.name(), username, clientIp);
+    }
+
+    public void rateLimited(String clientIp) {
+        publish(Type.RATE_LIMITED, null, null, clientIp);
+    }
+
+    /**
+     * A presented access token was not accepted.
+     *
+     * @param reason  a TokenValidation outcome, or REVOKED / OUTDATED
+     * @param subject the token's subject when it could be read, else null
+     */
+    public void tokenRejected(String reason, String subject, String clientIp) {
+        publish(Type.TOKEN_REJECTED, reason, subject, clientIp);
+    }
+
+    public boolean isEnabled() {
+        return buffer != null;
+    }
+
+    /**
+     * Events waiting for the writer.
+     */
+    public int bufferedCount() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    /**
+     * Events discarded because the buffer was full.
+     */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Token rejections discarded because their share of the buffer was full.
+     */
+    public long tokenRejectionsDroppedCount() {
+        return tokenRejectionsDropped.sum();
+    }
+
+    /**
+     * Events lost because their batch could not be written.
+     */
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    public long writtenCount() {
+        return written.sum();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        if (writer != null) {
+            running = false;
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void publish(Type type, String outcome, String username, String clientIp) {
+
+        if (buffer == null) {
+            return;
+        }
+
+        boolean lowPriority = type == Type.TOKEN_REJECTED;
+        if (lowPriority && buffer.size() >= tokenRejectionLimit) {
+            tokenRejectionsDropped.increment();
+            return;
+        }
+
+        AuthEvent event = new AuthEvent(
+                System.currentTimeMillis(),
+                type,
+                outcome,
+                truncate(username, MAX_USERNAME),
+                truncate(clientIp, MAX_CLIENT_IP)
+        );
+
+        if (buffer.offer(event)) {
+            return;
+        }
+
+        LockSupport.unpark(writer);
+        if (lowPriority) {
+            tokenRejectionsDropped.increment();
+            return;
+        }
+        if (backpressure == Backpressure.BLOCK && offerBlocking(event)) {
+            return;
+        }
+        dropped.increment();
+    }
+
+    private boolean offerBlocking(AuthEvent event) {
+
+        long deadline = System.nanoTime() + blockTimeoutNanos;
+        do {
+            LockSupport.parkNanos(BLOCK_PARK_NANOS);
+            if (buffer.offer(event)) {
+                return true;
+            }
+        } while (System.nanoTime() < deadline && running);
+        return false;
+    }
+
+    /**
+     * Writer thread: drain full batches back to back, otherwise wait one
+     * flush interval (or until a producer finds the buffer full). Drains
+     * whatever is left on shutdown.
+     */
+    private void drainLoop() {
+
+        List<AuthEvent> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            int drained = buffer.drainTo(batch, batchSize);
+            if (drained > 0) {
+                write(batch);
+                batch.clear();
+            }
+            if (drained < batchSize) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuthEvent> batch) {
+
+        Object[] args = new Object[batch.size() * COLUMNS];
+        int i = 0;
+        for (AuthEvent event : batch) {
+            args[i++] = event.occurredAt();
+            args[i++] = event.type().name();
+            args[i++] = event.outcome();
+            args[i++] = event.username();
+            args[i++] = event.clientIp();
+        }
+
+        String sql = batch.size() == batchSize ? fullBatchInsert : insert(batch.size());
+
+        // Any exception, not just DataAccessException: an escaping one
+        // would end the only writer thread.
+        try {
+            jdbcTemplate.update(sql, args);
+            written.add(batch.size());
+        } catch (RuntimeException ex) {
+            failed.add(batch.size());
+            log.warn("AUDIT: batch write failed, {} events lost | reason={}", batch.size(), ex.getMessage());
+        }
+    }
+
+    private static AuditProperties disabledProperties() {
+        AuditProperties properties = new AuditProperties();
+        properties.setEnabled(false);
+        return properties;
+    }
+
+    private static String insert(int rows) {
+        return INSERT_PREFIX + String.join(", ", Collections.nCopies(rows, ROW));
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+}
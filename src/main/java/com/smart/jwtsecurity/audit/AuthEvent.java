@@ -0,0 +1,26 @@
+package com.smart.jwtsecurity.audit;
+
+/**
+ * One row of the login_events table.
+ *
+ * @param occurredAt epoch millis
+ * @param type       what happened
+ * @param outcome    finer reason, e.g. BAD_CREDENTIALS or EXPIRED
+ * @param username   as submitted or from the token; null when unknown
+ * @param clientIp   remote address of the request
+ */
+public record AuthEvent(
+        long occurredAt,
+        Type type,
+        String outcome,
+        String username,
+        String clientIp
+) {
+
+    public enum Type {
+        LOGIN_SUCCESS,
+        LOGIN_FAILURE,
+        RATE_LIMITED,
+        TOKEN_REJECTED
+    }
+}
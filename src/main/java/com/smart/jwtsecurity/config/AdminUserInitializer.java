@@ -4,11 +4,13 @@ import java.util.HashSet;
 
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.smart.jwtsecurity.domain.entity.User;
+import com.smart.jwtsecurity.domain.event.UserChangedEvent;
 import com.smart.jwtsecurity.repository.UserRepository;
 import com.smart.jwtsecurity.security.RoleConstants;
 
@@ -25,6 +27,7 @@ public class AdminUserInitializer implements ApplicationRunner {
 
 	private final UserRepository userRepository;
 	private final PasswordEncoder passwordEncoder;
+	private final ApplicationEventPublisher eventPublisher;
 
 	private static final String ADMIN_USERNAME = "admin";
 	private static final String ADMIN_EMAIL = "admin@system.local";
@@ -50,11 +53,14 @@ public class AdminUserInitializer implements ApplicationRunner {
 
 		if (updated) {
 			userRepository.save(admin);
+			eventPublisher.publishEvent(new UserChangedEvent(admin.getUsername(), admin.getEmail()));
 		}
 	}
 
 	private User createAdminUser() {
-		return userRepository.save(User.builder().username(ADMIN_USERNAME).email(ADMIN_EMAIL)
+		User admin = userRepository.save(User.builder().username(ADMIN_USERNAME).email(ADMIN_EMAIL)
 				.password(passwordEncoder.encode(ADMIN_PASSWORD)).enabled(true).roles(new HashSet<>()).build());
+		eventPublisher.publishEvent(new UserChangedEvent(admin.getUsername(), admin.getEmail()));
+		return admin;
 	}
 }
@@ -0,0 +1,89 @@
+package com.smart.jwtsecurity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Authentication audit trail (login_events table) configuration.
+ *
+ * Events are handed to an in-memory ring buffer on the request path and
+ * written by a background thread in multi-row inserts, so a slow or
+ * unavailable database never adds a round-trip to /login.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "audit")
+public class AuditProperties {
+
+	/**
+	 * Record authentication events at all.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Events the buffer holds before backpressure applies. Rounded up to a
+	 * power of two.
+	 */
+	@Min(16)
+	@Max(1 << 24)
+	private int capacity = 8192;
+
+	/**
+	 * Share of the buffer TOKEN_REJECTED events may fill. The rest stays
+	 * free for login events, so a flood of garbage tokens cannot push them
+	 * out. Beyond it token rejections are dropped, never blocked on.
+	 */
+	@DecimalMin("0.0")
+	@DecimalMax("1.0")
+	private double tokenRejectionShare = 0.5;
+
+	/**
+	 * Maximum rows per INSERT statement.
+	 */
+	@Min(1)
+	@Max(1000)
+	private int batchSize = 500;
+
+	/**
+	 * How often the writer drains the buffer. Bounds how far the table lags
+	 * behind.
+	 */
+	@Min(10)
+	private long flushIntervalMs = 200;
+
+	/**
+	 * What a request does when the buffer is full.
+	 */
+	private Backpressure backpressure = Backpressure.DROP;
+
+	/**
+	 * With BLOCK: longest a request waits for space before the event is
+	 * dropped anyway.
+	 */
+	@Min(1)
+	private long blockTimeoutMs = 50;
+
+	public enum Backpressure {
+
+		/**
+		 * Drop the event and count it (auth.audit.dropped). Never slows a
+		 * request down.
+		 */
+		DROP,
+
+		/**
+		 * Wait up to block-timeout-ms for the writer to make space.
+		 */
+		BLOCK
+	}
+}
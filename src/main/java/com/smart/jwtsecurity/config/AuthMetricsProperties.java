@@ -0,0 +1,27 @@
+package com.smart.jwtsecurity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Auth pipeline metrics (auth.* meters) configuration.
+ *
+ * Percentile histograms for the auth.* timers are switched on through the
+ * standard management.metrics.distribution.percentiles-histogram.auth
+ * property.
+ */
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "auth-metrics")
+public class AuthMetricsProperties {
+
+	/**
+	 * Whether the auth pipeline records metrics. When disabled, no meters are
+	 * registered and the hot paths skip timing entirely (no clock reads).
+	 */
+	private boolean enabled = true;
+}
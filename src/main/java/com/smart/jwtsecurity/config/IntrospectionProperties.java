@@ -0,0 +1,50 @@
+package com.smart.jwtsecurity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Batch token introspection (/token/introspect) configuration.
+ *
+ * Tokens of one request are verified in chunks on a small shared pool and
+ * the results are streamed back in request order. When the pool is busy
+ * the request thread verifies the chunk itself, so a burst of batches
+ * slows down instead of failing.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "introspection")
+public class IntrospectionProperties {
+
+	/**
+	 * Maximum tokens per request. Larger batches are rejected with 400.
+	 */
+	@Min(1)
+	private int maxTokens = 1000;
+
+	/**
+	 * Tokens verified per pool task and written per flush.
+	 */
+	@Min(1)
+	private int chunkSize = 32;
+
+	/**
+	 * Size of the verification pool. Defaults to the number of cores.
+	 */
+	@Min(1)
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Chunks allowed to wait for a pool thread before the request thread runs
+	 * them itself.
+	 */
+	@Min(1)
+	private int queueCapacity = 64;
+}
@@ -1,11 +1,18 @@
 package com.smart.jwtsecurity.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -41,4 +48,200 @@ public class JwtProperties {
 	 */
 	@Min(60000) // minimum 1 minute
 	private long expirationMs;
+
+	/**
+	 * Issue roles as an integer bitmask claim (rm, bits from RoleConstants)
+	 * instead of the roles string list. Validation accepts both formats either
+	 * way, so this can be switched on while old tokens are still in flight.
+	 */
+	private boolean compactRoles = false;
+
+	/**
+	 * Verify our own HS256 tokens with a specialized parser before falling back
+	 * to JJWT. Tokens it does not fully recognize always go through JJWT.
+	 */
+	private boolean fastVerify = true;
+
+	/**
+	 * Verified-token cache used by the authorization filter.
+	 */
+	@Valid
+	private final Cache cache = new Cache();
+
+	/**
+	 * Asymmetric signing keys, published at /.well-known/jwks.json.
+	 */
+	@Valid
+	private final Signing signing = new Signing();
+
+	/**
+	 * Opaque refresh tokens, exchanged at /token/refresh.
+	 */
+	@Valid
+	private final Refresh refresh = new Refresh();
+
+	/**
+	 * Access token denylist (revocation by jti).
+	 */
+	@Valid
+	private final Revocation revocation = new Revocation();
+
+	/**
+	 * Per-user token version (ver claim) checks.
+	 */
+	@Valid
+	private final TokenVersion tokenVersion = new TokenVersion();
+
+	@Getter
+	@Setter
+	public static class Cache {
+
+		/**
+		 * Whether verified tokens are cached. When disabled, every request is fully
+		 * re-verified (parse + HMAC).
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Maximum number of cached tokens. Excess entries are evicted.
+		 */
+		@Min(1)
+		private long maximumSize = 10_000;
+
+		/**
+		 * Upper bound on how long a verified token is trusted from cache, in
+		 * milliseconds. Entries never outlive the token's own exp claim.
+		 */
+		@Min(1000)
+		private long maxTtlMs = 300_000;
+	}
+
+	@Getter
+	@Setter
+	public static class Refresh {
+
+		/**
+		 * Refresh token lifetime in milliseconds. Each rotation issues a new token
+		 * with a fresh lifetime. Example: 1209600000 (14 days)
+		 */
+		@Min(60000)
+		private long ttlMs = 1_209_600_000;
+
+		/**
+		 * How often expired refresh tokens are deleted, in milliseconds.
+		 */
+		@Min(1000)
+		private long purgeIntervalMs = 3_600_000;
+
+		/**
+		 * Rows deleted per purge statement. Small batches keep row locks short.
+		 */
+		@Min(1)
+		private int purgeBatchSize = 500;
+	}
+
+	@Getter
+	@Setter
+	public static class TokenVersion {
+
+		/**
+		 * How often version changes made on other nodes are pulled in, in
+		 * milliseconds. Bounds how long invalidated tokens stay usable elsewhere.
+		 */
+		@Min(100)
+		private long pollIntervalMs = 1_000;
+	}
+
+	@Getter
+	@Setter
+	public static class Revocation {
+
+		/**
+		 * Revocations the in-memory Bloom filter is sized for. It is resized on
+		 * rebuild if more are live.
+		 */
+		@Min(1)
+		private long expectedInsertions = 100_000;
+
+		/**
+		 * Share of non-revoked tokens that still trigger a store lookup.
+		 */
+		@DecimalMin("0.000001")
+		@DecimalMax("0.5")
+		private double falsePositiveRate = 0.001;
+
+		/**
+		 * How often revocations made on other nodes are pulled into the filter, in
+		 * milliseconds. Bounds how long a revoked token stays usable elsewhere.
+		 */
+		@Min(100)
+		private long pollIntervalMs = 1_000;
+
+		/**
+		 * How often the filter is rebuilt from live revocations (dropping expired
+		 * ones) and expired rows are purged, in milliseconds.
+		 */
+		@Min(1000)
+		private long rebuildIntervalMs = 600_000;
+
+		/**
+		 * Rows deleted per purge statement.
+		 */
+		@Min(1)
+		private int purgeBatchSize = 500;
+	}
+
+	@Getter
+	@Setter
+	public static class Signing {
+
+		/**
+		 * kid of the key that signs new tokens. Must be one of keys[] and carry a
+		 * private key. Empty: HS256 with the shared secret (no kid).
+		 */
+		private String activeKid;
+
+		/**
+		 * Accept tokens without kid (HS256 with the shared secret). Disable once
+		 * the HMAC tokens issued before switching to a key pair have expired.
+		 */
+		private boolean acceptHmac = true;
+
+		/**
+		 * Key ring. Rotation: add the new key (published, verify-only), move
+		 * active-kid to it, remove the old key once its tokens have expired.
+		 */
+		@Valid
+		private List<SigningKey> keys = new ArrayList<>();
+	}
+
+	@Getter
+	@Setter
+	public static class SigningKey {
+
+		/**
+		 * Key id, sent in the JWS header and the JWKS. Letters, digits, '.',
+		 * '_' and '-' only, so it is written into the JWKS as is.
+		 */
+		@NotBlank
+		@Pattern(regexp = "[A-Za-z0-9._-]{1,64}")
+		private String kid;
+
+		/**
+		 * JWS algorithm: ES256, ES384, ES512, RS256, RS384 or RS512.
+		 */
+		@NotBlank
+		private String algorithm = "ES256";
+
+		/**
+		 * X.509 SubjectPublicKeyInfo, Base64 or PEM.
+		 */
+		@NotBlank
+		private String publicKey;
+
+		/**
+		 * PKCS#8 private key, Base64 or PEM. Omit for verify-only (retired) keys.
+		 */
+		private String privateKey;
+	}
 }
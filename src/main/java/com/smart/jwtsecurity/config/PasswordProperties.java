@@ -0,0 +1,117 @@
+package com.smart.jwtsecurity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Password hashing configuration.
+ *
+ * Controls the algorithm and cost for NEW hashes and where verification runs.
+ * Stored hashes carry an {id} prefix (unprefixed legacy hashes are BCrypt), so
+ * changing the algorithm or cost never locks users out: each user is rehashed
+ * on their next successful login.
+ *
+ * Offloading verification to a bounded pool (password.offload) caps how
+ * many hashes run at once and sheds excess logins with 503, so a login storm
+ * cannot exhaust the request threads. With virtual request threads (see the
+ * virtual-threads profile) it also keeps the CPU-bound hash off the carriers.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "password")
+public class PasswordProperties {
+
+	/**
+	 * Run password verification on a dedicated platform-thread pool instead of
+	 * the request thread.
+	 */
+	private boolean offload = true;
+
+	/**
+	 * Size of the verification pool. Defaults to the number of cores.
+	 */
+	@Min(1)
+	private int threads = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Verifications allowed to wait for a pool thread. Beyond this, logins are
+	 * rejected immediately with 503.
+	 */
+	@Min(1)
+	private int queueCapacity = 32;
+
+	/**
+	 * Let concurrent logins with the same username and password share one
+	 * user lookup and hash verification.
+	 */
+	private boolean coalesce = true;
+
+	/**
+	 * Algorithm used for new hashes and as the rehash target on login.
+	 */
+	private Algorithm encoder = Algorithm.BCRYPT;
+
+	/**
+	 * BCrypt cost (log2 rounds). Weaker stored BCrypt hashes are upgraded on login.
+	 */
+	@Min(4)
+	@Max(31)
+	private int bcryptStrength = 10;
+
+	@Valid
+	private final Argon2 argon2 = new Argon2();
+
+	@Valid
+	private final Pbkdf2 pbkdf2 = new Pbkdf2();
+
+	public enum Algorithm {
+		BCRYPT, ARGON2, PBKDF2;
+
+		/**
+		 * Prefix stored in front of the hash, e.g. {bcrypt}.
+		 */
+		public String id() {
+			return name().toLowerCase();
+		}
+	}
+
+	@Getter
+	@Setter
+	public static class Argon2 {
+
+		/**
+		 * Memory cost in KiB.
+		 */
+		@Min(1024)
+		private int memoryKb = 19_456;
+
+		/**
+		 * Number of passes over memory.
+		 */
+		@Min(1)
+		private int iterations = 2;
+
+		@Min(1)
+		private int parallelism = 1;
+	}
+
+	@Getter
+	@Setter
+	public static class Pbkdf2 {
+
+		/**
+		 * PBKDF2-HMAC-SHA256 iteration count.
+		 */
+		@Min(10_000)
+		private int iterations = 310_000;
+	}
+}
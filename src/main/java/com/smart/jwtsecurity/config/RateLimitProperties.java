@@ -0,0 +1,138 @@
+package com.smart.jwtsecurity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Login rate limiting configuration.
+ *
+ * Limits are per client IP. The tracked-key cap bounds memory even when
+ * attempts come from a very large number of source addresses.
+ *
+ * With store=JDBC all replicas share one limit through the login_rate_limit
+ * table.
+ *
+ * Per-IP limits miss attacks spread over many addresses, so failed logins
+ * are also counted per account (rate-limit.account.*): node-local, in a
+ * fixed-size sketch.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+	/**
+	 * Login attempts allowed per client within one window.
+	 */
+	@Min(1)
+	private int maxAttempts = 5;
+
+	/**
+	 * Window length in milliseconds. Windows are aligned to multiples of it.
+	 */
+	@Min(1000)
+	private long windowMs = 60_000;
+
+	/**
+	 * Hard cap on tracked client keys. Least valuable entries are evicted first.
+	 */
+	@Min(1)
+	private long maxTrackedKeys = 100_000;
+
+	/**
+	 * Where counters live. MEMORY is per node; JDBC is shared by all replicas.
+	 */
+	private Store store = Store.MEMORY;
+
+	/**
+	 * Settings for the JDBC store.
+	 */
+	@Valid
+	private final Jdbc jdbc = new Jdbc();
+
+	/**
+	 * Per-account failed-login tracking.
+	 */
+	@Valid
+	private final Account account = new Account();
+
+	public enum Store {
+		MEMORY, JDBC
+	}
+
+	@Getter
+	@Setter
+	public static class Jdbc {
+
+		/**
+		 * How often locally coalesced attempts are written to, and shared counts
+		 * read back from, the database. Bounds cross-replica staleness.
+		 */
+		@Min(10)
+		private long flushIntervalMs = 200;
+
+		/**
+		 * Maximum rows per statement batch (upserts, IN-list refresh, purge).
+		 */
+		@Min(1)
+		private int batchSize = 500;
+	}
+
+	@Getter
+	@Setter
+	public static class Account {
+
+		/**
+		 * Delay, then lock out, usernames with repeated failed logins.
+		 */
+		private boolean enabled = true;
+
+		/**
+		 * Failures are counted over a sliding window of this length.
+		 */
+		@Min(1000)
+		private long windowMs = 900_000;
+
+		/**
+		 * Failures per window before any delay applies.
+		 */
+		@Min(1)
+		private int freeFailures = 5;
+
+		/**
+		 * Delay after the first failure beyond the free ones; doubles with each
+		 * further failure.
+		 */
+		@Min(1)
+		private long baseDelayMs = 1000;
+
+		/**
+		 * Cap on the delay; reaching it is the temporary lockout.
+		 */
+		@Min(1)
+		private long maxDelayMs = 900_000;
+
+		/**
+		 * Counters per sketch row. Rounded up to a power of two.
+		 */
+		@Min(64)
+		@Max(1 << 22)
+		private int width = 32_768;
+
+		/**
+		 * Sketch rows (independent hashes).
+		 */
+		@Min(1)
+		@Max(16)
+		private int depth = 4;
+	}
+}
@@ -0,0 +1,41 @@
+package com.smart.jwtsecurity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * UserDetails cache configuration.
+ *
+ * Bounds how many users are kept and how long a cached entry may be served
+ * before it is reloaded from the database.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "user-cache")
+public class UserCacheProperties {
+
+	/**
+	 * Whether loaded users are cached. When disabled, every login hits the
+	 * database.
+	 */
+	private boolean enabled = true;
+
+	/**
+	 * Maximum number of cached login identifiers.
+	 */
+	@Min(1)
+	private long maximumSize = 10_000;
+
+	/**
+	 * Time-to-live of a cached entry in milliseconds.
+	 */
+	@Min(1000)
+	private long ttlMs = 300_000;
+}
@@ -0,0 +1,46 @@
+package com.smart.jwtsecurity.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Bulk user import (/admin/users/import) configuration.
+ *
+ * Records are processed in chunks: passwords of a chunk are hashed in
+ * parallel, then the chunk is written in one transaction with multi-row
+ * inserts. A failed chunk never affects the chunks before it.
+ */
+@Getter
+@Setter
+@Validated
+@Configuration
+@ConfigurationProperties(prefix = "user-import")
+public class UserImportProperties {
+
+	/**
+	 * Records per chunk (one transaction, one progress line).
+	 */
+	@Min(1)
+	@Max(2000)
+	private int chunkSize = 500;
+
+	/**
+	 * Threads hashing passwords. Separate from the login verification pool, so
+	 * an import cannot starve logins. Defaults to half the cores.
+	 */
+	@Min(1)
+	private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+	/**
+	 * Rejected records listed individually in the report. Further rejections
+	 * are only counted.
+	 */
+	@Min(0)
+	private int maxReportedErrors = 100;
+}
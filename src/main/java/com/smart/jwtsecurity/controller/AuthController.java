@@ -2,19 +2,42 @@ package com.smart.jwtsecurity.controller;
 
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.smart.jwtsecurity.audit.AuthAuditLog;
 import com.smart.jwtsecurity.dto.LoginApiResponse;
 import com.smart.jwtsecurity.dto.LoginRequest;
+import com.smart.jwtsecurity.dto.RefreshRequest;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.metrics.AuthMetrics.LoginOutcome;
+import com.smart.jwtsecurity.ratelimit.AccountFailureTracker;
+import com.smart.jwtsecurity.ratelimit.AccountThrottledException;
+import com.smart.jwtsecurity.security.PasswordVerificationRejectedException;
+import com.smart.jwtsecurity.token.RefreshTokenService;
+import com.smart.jwtsecurity.token.TokenDenylist;
+import com.smart.jwtsecurity.token.TokenVersions;
 import com.smart.jwtsecurity.util.JwtUtil;
+import com.smart.jwtsecurity.util.TokenValidation;
+import com.smart.jwtsecurity.util.VerifiedToken;
+import com.smart.jwtsecurity.util.VerifiedTokenCache;
 
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
@@ -24,7 +47,7 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * Authentication Controller.
  *
- * Handles JSON-based login and JWT issuance.
+ * Handles JSON-based login, JWT issuance and refresh token rotation.
  */
 @RestController
 @RequiredArgsConstructor
@@ -33,6 +56,14 @@ public class AuthController {
 
     private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenDenylist tokenDenylist;
+    private final TokenVersions tokenVersions;
+    private final AuthMetrics metrics;
+    private final AuthAuditLog audit;
+    private final AccountFailureTracker accountFailures;
+    private final UserDetailsService userDetailsService;
 
     @PostMapping("/login")
     public LoginApiResponse login(
@@ -40,7 +71,19 @@ public class AuthController {
             HttpServletRequest httpRequest
     ) {
 
+        long start = metrics.start();
+        String account = account(request.getUsernameOrEmail());
+
         try {
+            /*
+             * 0️⃣ Too many recent failures for this account → wait
+             * (checked before the password, right or wrong)
+             */
+            long retryAfter = accountFailures.retryAfterMillis(account);
+            if (retryAfter > 0) {
+                throw new AccountThrottledException(retryAfter);
+            }
+
             /*
              * 1️⃣ Delegate authentication to Spring Security
              */
@@ -59,28 +102,19 @@ public class AuthController {
                     (UserDetails) authentication.getPrincipal();
 
             /*
-             * 3️⃣ Generate JWT
+             * 3️⃣ Generate JWT + start a refresh token family
              */
-            String token = jwtUtil.generateToken(user);
-
-            /*
-             * 4️⃣ Build structured response
-             */
-            return LoginApiResponse.builder()
-                    .accessToken(token)
-                    .tokenType("Bearer")
-                    .expiresInSeconds(jwtUtil.getExpirationSeconds())
-                    .username(user.getUsername())
-                    .roles(
-                            user.getAuthorities()
-                                    .stream()
-                                    .map(a -> a.getAuthority())
-                                    .collect(Collectors.toSet())
-                    )
-                    .build();
+            LoginApiResponse response = response(user, refreshTokenService.issue(user));
+            metrics.login(start, LoginOutcome.SUCCESS);
+            audit.loginSucceeded(user.getUsername(), httpRequest.getRemoteAddr());
+            return response;
 
         } catch (BadCredentialsException ex) {
 
+            metrics.login(start, LoginOutcome.BAD_CREDENTIALS);
+            accountFailures.recordFailure(account);
+            audit.loginFailed(request.getUsernameOrEmail(), httpRequest.getRemoteAddr(), LoginOutcome.BAD_CREDENTIALS);
+
             log.warn(
                 "LOGIN FAILED: invalid credentials | user={} | ip={}",
                 request.getUsernameOrEmail(),
@@ -90,6 +124,14 @@ public class AuthController {
 
         } catch (AuthenticationException ex) {
 
+            LoginOutcome outcome =
+                    ex instanceof DisabledException ? LoginOutcome.DISABLED
+                    : ex instanceof LockedException ? LoginOutcome.LOCKED
+                    : LoginOutcome.ERROR;
+
+            metrics.login(start, outcome);
+            audit.loginFailed(request.getUsernameOrEmail(), httpRequest.getRemoteAddr(), outcome);
+
             log.warn(
                 "LOGIN FAILED: authentication error | user={} | ip={} | reason={}",
                 request.getUsernameOrEmail(),
@@ -97,6 +139,167 @@ public class AuthController {
                 ex.getClass().getSimpleName()
             );
             throw ex;
+
+        } catch (PasswordVerificationRejectedException ex) {
+
+            metrics.login(start, LoginOutcome.REJECTED);
+            audit.loginFailed(request.getUsernameOrEmail(), httpRequest.getRemoteAddr(), LoginOutcome.REJECTED);
+            throw ex;
+
+        } catch (AccountThrottledException ex) {
+
+            metrics.login(start, LoginOutcome.THROTTLED);
+            audit.loginFailed(request.getUsernameOrEmail(), httpRequest.getRemoteAddr(), LoginOutcome.THROTTLED);
+
+            log.warn(
+                "LOGIN THROTTLED: too many failures for account | user={} | ip={} | retryAfterMs={}",
+                request.getUsernameOrEmail(),
+                httpRequest.getRemoteAddr(),
+                ex.getRetryAfterMillis()
+            );
+            throw ex;
+        }
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and the next
+     * refresh token. No password verification involved.
+     */
+    @PostMapping("/token/refresh")
+    public LoginApiResponse refresh(
+            @RequestBody @Valid RefreshRequest request,
+            HttpServletRequest httpRequest
+    ) {
+
+        try {
+            RefreshTokenService.Rotation rotation =
+                    refreshTokenService.rotate(request.getRefreshToken());
+
+            return response(rotation.user(), rotation.refreshToken());
+
+        } catch (AuthenticationException ex) {
+
+            log.warn(
+                "REFRESH FAILED: invalid refresh token | ip={}",
+                httpRequest.getRemoteAddr()
+            );
+            throw ex;
         }
     }
+
+    /**
+     * Revokes the access token of the current request (logout).
+     * It stays rejected until its own exp.
+     */
+    @PostMapping("/token/revoke")
+    public ResponseEntity<Void> revoke(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization
+    ) {
+
+        // The filter has already validated it; this is the cached result.
+        TokenValidation result = verifiedTokenCache.validate(authorization.substring(7));
+        if (!result.isValid()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        VerifiedToken verified = result.token();
+
+        if (verified.jti() != null) {
+            tokenDenylist.revoke(verified.jti(), verified.expiresAtMillis());
+            log.info("TOKEN REVOKED | user={} | jti={}", verified.subject(), verified.jti());
+        }
+
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Logs the current user out everywhere: every access token issued so
+     * far is rejected and every refresh token is deleted.
+     */
+    @PostMapping("/token/revoke-all")
+    public ResponseEntity<Void> revokeAll(Authentication authentication) {
+
+        String username = authentication.getName();
+
+        tokenVersions.invalidate(username);
+        refreshTokenService.revokeAll(username);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Key for the per-account failure count: the username of the account
+     * the identifier resolves to, so its username and its email share one
+     * budget; the identifier as submitted when there is no such account.
+     * Same lookup authentication makes next, so it is served from
+     * UserDetailsCache.
+     */
+    private String account(String usernameOrEmail) {
+        try {
+            return userDetailsService.loadUserByUsername(usernameOrEmail).getUsername();
+        } catch (UsernameNotFoundException ex) {
+            return usernameOrEmail;
+        }
+    }
+
+    private LoginApiResponse response(UserDetails user, String refreshToken) {
+
+        return LoginApiResponse.builder()
+                .accessToken(jwtUtil.generateToken(user, tokenVersions.current(user.getUsername())))
+                .tokenType("Bearer")
+                .expiresInSeconds(jwtUtil.getExpirationSeconds())
+                .refreshToken(refreshToken)
+                .username(user.getUsername())
+                .roles(
+                        user.getAuthorities()
+                                .stream()
+                                .map(a -> a.getAuthority())
+                                .collect(Collectors.toSet())
+                )
+                .build();
+    }
+
+    /**
+     * Password verification pool is saturated → shed load.
+     * Fast 503 instead of queueing the request thread.
+     */
+    @ExceptionHandler(PasswordVerificationRejectedException.class)
+    public ResponseEntity<String> verificationRejected(
+            HttpServletRequest httpRequest
+    ) {
+
+        log.warn(
+            "LOGIN REJECTED: verification capacity exhausted | ip={}",
+            httpRequest.getRemoteAddr()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                    {
+                      "status": 503,
+                      "error": "SERVICE_UNAVAILABLE",
+                      "message": "Login capacity exhausted. Please retry shortly."
+                    }
+                """);
+    }
+
+    /**
+     * Account under brute-force protection → 429 until its delay has passed.
+     */
+    @ExceptionHandler(AccountThrottledException.class)
+    public ResponseEntity<String> accountThrottled(AccountThrottledException ex) {
+
+        long retryAfterSeconds = Math.max(1, (ex.getRetryAfterMillis() + 999) / 1000);
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("""
+                    {
+                      "error": "TOO_MANY_REQUESTS",
+                      "message": "Too many failed logins for this account. Please try again later."
+                    }
+                """);
+    }
 }
@@ -0,0 +1,57 @@
+package com.smart.jwtsecurity.controller;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.smart.jwtsecurity.config.IntrospectionProperties;
+import com.smart.jwtsecurity.dto.IntrospectionRequest;
+import com.smart.jwtsecurity.token.TokenIntrospector;
+
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Token introspection for gateways and internal services.
+ *
+ * One request checks a whole batch of access tokens; the caller
+ * authenticates with its own service account bearer token (ROLE_SERVICE).
+ */
+@RestController
+@RequiredArgsConstructor
+public class IntrospectionController {
+
+    private static final byte[] TOO_MANY_TOKENS = """
+                {
+                  "status": 400,
+                  "error": "BAD_REQUEST",
+                  "message": "Too many tokens in one introspection request."
+                }
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final TokenIntrospector tokenIntrospector;
+    private final IntrospectionProperties properties;
+
+    @PostMapping("/token/introspect")
+    public void introspect(
+            @RequestBody @Valid IntrospectionRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        if (request.getTokens().size() > properties.getMaxTokens()) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentLength(TOO_MANY_TOKENS.length);
+            response.getOutputStream().write(TOO_MANY_TOKENS);
+            return;
+        }
+
+        tokenIntrospector.introspect(request.getTokens(), response.getOutputStream());
+    }
+}
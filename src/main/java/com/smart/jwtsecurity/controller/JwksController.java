@@ -0,0 +1,39 @@
+package com.smart.jwtsecurity.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.smart.jwtsecurity.util.JwtKeyring;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Public keys for verifying our tokens (RFC 7517).
+ *
+ * The document is serialized once at startup; clients and proxies may
+ * cache it for a few minutes and revalidate with the ETag.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private static final CacheControl CACHE_CONTROL =
+            CacheControl.maxAge(5, TimeUnit.MINUTES).cachePublic();
+
+    private final JwtKeyring keyring;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> jwks() {
+
+        return ResponseEntity.ok()
+                .cacheControl(CACHE_CONTROL)
+                .eTag(keyring.jwksEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(keyring.jwks());
+    }
+}
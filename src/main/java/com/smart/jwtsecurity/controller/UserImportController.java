@@ -0,0 +1,82 @@
+package com.smart.jwtsecurity.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.smart.jwtsecurity.provisioning.ImportFormat;
+import com.smart.jwtsecurity.provisioning.ImportReport;
+import com.smart.jwtsecurity.provisioning.UserImporter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Bulk user provisioning (ADMIN only, see SecurityConfig).
+ *
+ * The body is streamed straight into UserImporter; the response is
+ * NDJSON with one progress line per committed chunk and a final line
+ * ("done": true) listing rejected records.
+ */
+@RestController
+@RequiredArgsConstructor
+public class UserImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private static final byte[] BAD_HEADER = """
+                {
+                  "status": 400,
+                  "error": "BAD_REQUEST",
+                  "message": "CSV import must start with the header line username,email,password,roles."
+                }
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final UserImporter userImporter;
+
+    @PostMapping(path = "/admin/users/import", consumes = { NDJSON, CSV })
+    public void importUsers(
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+
+        ImportFormat format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+
+        response.setContentType(NDJSON);
+        OutputStream out = response.getOutputStream();
+
+        ImportReport report;
+        try {
+            report = userImporter.importUsers(request.getReader(), format, progress -> {
+                try {
+                    writeLine(out, progress.toJson(false));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (IllegalArgumentException ex) {
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            out.write(BAD_HEADER);
+            return;
+        }
+
+        writeLine(out, report.toJson(true));
+    }
+
+    private static void writeLine(OutputStream out, String json) throws IOException {
+        out.write(json.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+        out.flush();
+    }
+}
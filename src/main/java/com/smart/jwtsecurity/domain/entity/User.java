@@ -60,4 +60,19 @@ public class User {
 
 	@Column(nullable = false)
 	private boolean enabled = true;
+
+	/**
+	 * Embedded in access tokens as the ver claim. Tokens with an older version
+	 * are rejected. Only ever incremented by TokenVersions (never written
+	 * through JPA updates, so a stale entity cannot roll it back).
+	 */
+	@Column(nullable = false, updatable = false)
+	private int tokenVersion;
+
+	/**
+	 * Epoch millis of the last tokenVersion increment (0: never). Drives delta
+	 * polling on other nodes.
+	 */
+	@Column(nullable = false, updatable = false)
+	private long tokenVersionAt;
 }
@@ -0,0 +1,10 @@
+package com.smart.jwtsecurity.domain.event;
+
+/**
+ * Published whenever a User row (or its roles) is written.
+ *
+ * Consumers holding derived user state (caches) must drop it. Listeners run
+ * after commit, so they never race a rollback.
+ */
+public record UserChangedEvent(String username, String email) {
+}
@@ -0,0 +1,47 @@
+package com.smart.jwtsecurity.domain.projection;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-only view of a user for authentication.
+ *
+ * Holds only what DaoAuthenticationProvider needs. Never attached to a
+ * persistence context, so no dirty checking and no lazy loading.
+ */
+public record AuthUser(
+        Long id,
+        String username,
+        String password,
+        boolean enabled,
+        Set<String> roles
+) {
+
+    /**
+     * Folds the per-role rows of ONE user into a single view.
+     */
+    public static Optional<AuthUser> fromRows(List<AuthUserRow> rows) {
+
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        AuthUserRow first = rows.get(0);
+        Set<String> roles = new HashSet<>();
+        for (AuthUserRow row : rows) {
+            if (row.role() != null) {
+                roles.add(row.role());
+            }
+        }
+
+        return Optional.of(new AuthUser(
+                first.id(),
+                first.username(),
+                first.password(),
+                first.enabled(),
+                Set.copyOf(roles)
+        ));
+    }
+}
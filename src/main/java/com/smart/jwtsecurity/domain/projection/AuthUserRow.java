@@ -0,0 +1,15 @@
+package com.smart.jwtsecurity.domain.projection;
+
+/**
+ * One row of the authentication read: user columns plus ONE role.
+ *
+ * Produced by the join query in UserRepository and folded into AuthUser.
+ */
+public record AuthUserRow(
+        Long id,
+        String username,
+        String password,
+        boolean enabled,
+        String role
+) {
+}
@@ -0,0 +1,18 @@
+package com.smart.jwtsecurity.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Batch introspection payload: the access tokens to check.
+ */
+@Getter
+@Setter
+public class IntrospectionRequest {
+
+    @NotEmpty
+    private List<String> tokens;
+}
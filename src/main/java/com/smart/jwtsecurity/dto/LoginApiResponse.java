@@ -29,6 +29,12 @@ public class LoginApiResponse {
 	 */
 	private final long expiresInSeconds;
 
+	/**
+	 * Opaque refresh token. Single use: exchange it at /token/refresh for a new
+	 * access token and the next refresh token.
+	 */
+	private final String refreshToken;
+
 	/**
 	 * Authenticated username.
 	 */
@@ -0,0 +1,16 @@
+package com.smart.jwtsecurity.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Refresh payload: the refresh token from the previous login or refresh.
+ */
+@Getter
+@Setter
+public class RefreshRequest {
+
+    @NotBlank
+    private String refreshToken;
+}
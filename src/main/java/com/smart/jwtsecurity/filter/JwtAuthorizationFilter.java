@@ -1,14 +1,18 @@
 package com.smart.jwtsecurity.filter;
 
-import com.smart.jwtsecurity.util.JwtUtil;
-import io.jsonwebtoken.Claims;
+import com.smart.jwtsecurity.audit.AuthAuditLog;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.security.TokenAuthentication;
+import com.smart.jwtsecurity.token.TokenDenylist;
+import com.smart.jwtsecurity.token.TokenVersions;
+import com.smart.jwtsecurity.util.TokenValidation;
+import com.smart.jwtsecurity.util.VerifiedToken;
+import com.smart.jwtsecurity.util.VerifiedTokenCache;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -17,11 +21,16 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class JwtAuthorizationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenDenylist tokenDenylist;
+    private final TokenVersions tokenVersions;
+    private final AuthMetrics metrics;
+    private final AuthAuditLog audit;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        return request.getRequestURI().equals("/login");
+        String uri = request.getRequestURI();
+        return uri.equals("/login") || uri.equals("/token/refresh");
     }
 
     @Override
@@ -31,29 +40,48 @@ public class JwtAuthorizationFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
 
-        String header = request.getHeader("Authorization");
+        long start = metrics.start();
+        try {
+            authenticate(request);
+        } finally {
+            metrics.jwtFilter(start);
+        }
 
-        if (header != null && header.startsWith("Bearer ")) {
+        filterChain.doFilter(request, response);
+    }
 
-            String token = header.substring(7);
-            Claims claims = jwtUtil.validateToken(token);
+    private void authenticate(HttpServletRequest request) {
 
-            var authorities =
-                    AuthorityUtils.commaSeparatedStringToAuthorityList(
-                            claims.get("roles").toString()
-                    );
+        String header = request.getHeader("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            return;
+        }
 
-            var authentication =
-                    new UsernamePasswordAuthenticationToken(
-                            claims.getSubject(),
-                            null,
-                            authorities
-                    );
+        // Invalid token → no Authentication; the entry point answers 401.
+        TokenValidation result = verifiedTokenCache.validate(header.substring(7));
+        if (!result.isValid()) {
+            audit.tokenRejected(result.outcome().name(), null, request.getRemoteAddr());
+            return;
+        }
+        VerifiedToken verified = result.token();
 
-            SecurityContextHolder.getContext()
-                    .setAuthentication(authentication);
+        // Revoked or outdated → no Authentication; protected endpoints answer 401.
+        if (tokenDenylist.isRevoked(verified.jti())) {
+            audit.tokenRejected("REVOKED", verified.subject(), request.getRemoteAddr());
+            return;
+        }
+        if (!tokenVersions.isCurrent(verified.subject(), verified.tokenVersion())) {
+            audit.tokenRejected("OUTDATED", verified.subject(), request.getRemoteAddr());
+            return;
         }
 
-        filterChain.doFilter(request, response);
+        var authentication =
+                new TokenAuthentication(
+                        verified.subject(),
+                        verified.authorities()
+                );
+
+        SecurityContextHolder.getContext()
+                .setAuthentication(authentication);
     }
 }
@@ -1,30 +1,41 @@
 package com.smart.jwtsecurity.filter;
 
+import com.smart.jwtsecurity.audit.AuthAuditLog;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.ratelimit.RateLimitStore;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.*;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.nio.charset.StandardCharsets;
 
 /**
- * Simple in-memory rate limiter for /login.
+ * Rate limiter for /login.
  *
- * Limits requests per IP.
- * Production systems should replace this with Redis / Gateway-level limiting.
+ * Limits requests per IP (see rate-limit.* properties).
+ * Counters live in the configured RateLimitStore: node-local memory by
+ * default, or the shared database (rate-limit.store=jdbc) when several
+ * replicas must enforce one limit together.
  */
 @Component
+@RequiredArgsConstructor
 public class LoginRateLimitFilter extends OncePerRequestFilter {
 
-    private static final int MAX_ATTEMPTS = 5;
-    private static final long WINDOW_MS = 60_000; // 1 minute
+    private static final byte[] TOO_MANY_REQUESTS = """
+                {
+                  "error": "TOO_MANY_REQUESTS",
+                  "message": "Too many login attempts. Please try again later."
+                }
+            """.getBytes(StandardCharsets.UTF_8);
 
-    private final Map<String, Attempt> attempts = new ConcurrentHashMap<>();
+    private final RateLimitStore rateLimitStore;
+    private final AuthMetrics metrics;
+    private final AuthAuditLog audit;
 
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
@@ -38,44 +49,18 @@ public class LoginRateLimitFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
 
-        String ip = request.getRemoteAddr();
-        long now = Instant.now().toEpochMilli();
-
-        Attempt attempt = attempts.computeIfAbsent(ip, k -> new Attempt(now));
+        String clientIp = request.getRemoteAddr();
 
-        if (now - attempt.startTime > WINDOW_MS) {
-            attempt.reset(now);
-        }
-
-        attempt.count++;
-
-        if (attempt.count > MAX_ATTEMPTS) {
+        if (!rateLimitStore.tryAcquire(clientIp)) {
+            metrics.loginRateLimited();
+            audit.rateLimited(clientIp);
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.setContentType("application/json");
-            response.getWriter().write("""
-                {
-                  "error": "TOO_MANY_REQUESTS",
-                  "message": "Too many login attempts. Please try again later."
-                }
-            """);
+            response.setContentLength(TOO_MANY_REQUESTS.length);
+            response.getOutputStream().write(TOO_MANY_REQUESTS);
             return;
         }
 
         filterChain.doFilter(request, response);
     }
-
-    private static class Attempt {
-        long startTime;
-        int count;
-
-        Attempt(long startTime) {
-            this.startTime = startTime;
-            this.count = 0;
-        }
-
-        void reset(long newStart) {
-            this.startTime = newStart;
-            this.count = 0;
-        }
-    }
 }
@@ -0,0 +1,159 @@
+package com.smart.jwtsecurity.metrics;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.smart.jwtsecurity.util.TokenValidation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers and counters of the auth pipeline.
+ *
+ * Usage on a hot path:
+ *
+ *   long start = metrics.start();
+ *   ...
+ *   metrics.jwtFilter(start);
+ *
+ * DISABLED registers nothing: start() returns 0 without reading the clock
+ * and every record method returns on a null check, so instrumented code
+ * costs nothing measurable when auth-metrics.enabled=false.
+ *
+ * Meters (all timers carry the usual count / sum / max, plus histogram
+ * buckets when percentiles-histogram.auth is on):
+ *
+ * - auth.login{outcome}          POST /login, end to end
+ * - auth.password.verify         PasswordEncoder.matches (hash time only)
+ * - auth.user.load               user lookup on a UserDetailsCache miss
+ * - auth.jwt.sign                access token signing
+ * - auth.jwt.verify{outcome}     access token verification (cache misses)
+ * - auth.filter.jwt              JwtAuthorizationFilter's own work
+ * - auth.login.rate-limited      /login requests answered 429
+ */
+public final class AuthMetrics {
+
+    public static final AuthMetrics DISABLED = new AuthMetrics();
+
+    public enum LoginOutcome {
+        SUCCESS,
+        BAD_CREDENTIALS,
+        DISABLED,
+        LOCKED,
+        REJECTED,
+        THROTTLED,
+        ERROR
+    }
+
+    private final Map<LoginOutcome, Timer> login;
+    private final Map<TokenValidation.Outcome, Timer> jwtVerify;
+    private final Timer passwordVerify;
+    private final Timer userLoad;
+    private final Timer jwtSign;
+    private final Timer jwtFilter;
+    private final Counter rateLimited;
+
+    private AuthMetrics() {
+        this.login = null;
+        this.jwtVerify = null;
+        this.passwordVerify = null;
+        this.userLoad = null;
+        this.jwtSign = null;
+        this.jwtFilter = null;
+        this.rateLimited = null;
+    }
+
+    public AuthMetrics(MeterRegistry registry) {
+
+        this.login = new EnumMap<>(LoginOutcome.class);
+        for (LoginOutcome outcome : LoginOutcome.values()) {
+            login.put(outcome, timer(registry, "auth.login", "POST /login, end to end", outcome));
+        }
+
+        this.jwtVerify = new EnumMap<>(TokenValidation.Outcome.class);
+        for (TokenValidation.Outcome outcome : TokenValidation.Outcome.values()) {
+            jwtVerify.put(outcome, timer(registry, "auth.jwt.verify", "Access token verification", outcome));
+        }
+
+        this.passwordVerify = timer(registry, "auth.password.verify", "Password hash verification", null);
+        this.userLoad = timer(registry, "auth.user.load", "User lookup on a cache miss", null);
+        this.jwtSign = timer(registry, "auth.jwt.sign", "Access token signing", null);
+        this.jwtFilter = timer(registry, "auth.filter.jwt", "JwtAuthorizationFilter overhead", null);
+
+        this.rateLimited = Counter.builder("auth.login.rate-limited")
+                .description("Login requests rejected by the rate limiter")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return login != null;
+    }
+
+    /**
+     * Start timestamp for one of the record methods; 0 when disabled.
+     */
+    public long start() {
+        return login == null ? 0L : System.nanoTime();
+    }
+
+    public void login(long start, LoginOutcome outcome) {
+        if (login != null) {
+            record(login.get(outcome), start);
+        }
+    }
+
+    public void jwtVerified(long start, TokenValidation.Outcome outcome) {
+        if (jwtVerify != null) {
+            record(jwtVerify.get(outcome), start);
+        }
+    }
+
+    public void jwtSigned(long start) {
+        if (jwtSign != null) {
+            record(jwtSign, start);
+        }
+    }
+
+    public void userLoaded(long start) {
+        if (userLoad != null) {
+            record(userLoad, start);
+        }
+    }
+
+    public void jwtFilter(long start) {
+        if (jwtFilter != null) {
+            record(jwtFilter, start);
+        }
+    }
+
+    public void loginRateLimited() {
+        if (rateLimited != null) {
+            rateLimited.increment();
+        }
+    }
+
+    /**
+     * The encoder with matches() timed, or the encoder itself when disabled.
+     */
+    public PasswordEncoder timed(PasswordEncoder encoder) {
+        return passwordVerify == null ? encoder : new TimedPasswordEncoder(encoder, passwordVerify);
+    }
+
+    private static void record(Timer timer, long start) {
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String description, Enum<?> outcome) {
+        Timer.Builder builder = Timer.builder(name).description(description);
+        if (outcome != null) {
+            builder.tag("outcome", outcome.name().toLowerCase(Locale.ROOT));
+        }
+        return builder.register(registry);
+    }
+}
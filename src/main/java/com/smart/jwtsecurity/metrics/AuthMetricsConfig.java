@@ -0,0 +1,128 @@
+package com.smart.jwtsecurity.metrics;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.smart.jwtsecurity.audit.AuthAuditLog;
+import com.smart.jwtsecurity.config.AuthMetricsProperties;
+import com.smart.jwtsecurity.ratelimit.RateLimitStore;
+import com.smart.jwtsecurity.security.CoalescingAuthenticationManager;
+import com.smart.jwtsecurity.security.OffloadingPasswordEncoder;
+import com.smart.jwtsecurity.security.UserDetailsCache;
+import com.smart.jwtsecurity.util.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Wires AuthMetrics and the gauges over existing auth state.
+ *
+ * Gauges and function counters are read at scrape time only, so they add
+ * nothing to the request path. None are registered when
+ * auth-metrics.enabled=false.
+ */
+@Configuration
+public class AuthMetricsConfig {
+
+	@Bean
+	AuthMetrics authMetrics(AuthMetricsProperties properties, ObjectProvider<MeterRegistry> registry) {
+		MeterRegistry meterRegistry = registry.getIfAvailable();
+		return properties.isEnabled() && meterRegistry != null
+				? new AuthMetrics(meterRegistry)
+				: AuthMetrics.DISABLED;
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "auth-metrics", name = "enabled", matchIfMissing = true)
+	MeterBinder authStateMetrics(
+			VerifiedTokenCache verifiedTokenCache,
+			UserDetailsCache userDetailsCache,
+			RateLimitStore rateLimitStore,
+			PasswordEncoder passwordEncoder,
+			AuthenticationManager authenticationManager,
+			AuthAuditLog authAuditLog
+	) {
+		return registry -> {
+
+			bindCache(registry, "auth.token.cache", verifiedTokenCache,
+					VerifiedTokenCache::estimatedSize, VerifiedTokenCache::stats);
+			bindCache(registry, "auth.user.cache", userDetailsCache,
+					UserDetailsCache::estimatedSize, UserDetailsCache::stats);
+
+			Gauge.builder("auth.login.rate-limit.tracked-keys", rateLimitStore, RateLimitStore::trackedKeys)
+					.description("Client keys currently tracked by the login rate limiter")
+					.register(registry);
+
+			if (passwordEncoder instanceof OffloadingPasswordEncoder offloading) {
+				Gauge.builder("auth.password.queue", offloading, OffloadingPasswordEncoder::queueDepth)
+						.description("Password verifications waiting for a pool thread")
+						.register(registry);
+				Gauge.builder("auth.password.active", offloading, OffloadingPasswordEncoder::activeCount)
+						.description("Password verifications currently hashing")
+						.register(registry);
+				FunctionCounter.builder("auth.password.rejected", offloading, OffloadingPasswordEncoder::rejectedCount)
+						.description("Password verifications shed because the pool was full")
+						.register(registry);
+			}
+
+			if (authenticationManager instanceof CoalescingAuthenticationManager coalescing) {
+				Gauge.builder("auth.login.in-flight", coalescing, CoalescingAuthenticationManager::inFlightCount)
+						.description("Distinct login authentications currently running")
+						.register(registry);
+				FunctionCounter.builder("auth.login.coalesced", coalescing, CoalescingAuthenticationManager::coalescedCount)
+						.description("Logins answered from a concurrent identical login")
+						.register(registry);
+			}
+
+			if (authAuditLog.isEnabled()) {
+				Gauge.builder("auth.audit.buffered", authAuditLog, AuthAuditLog::bufferedCount)
+						.description("Audit events waiting for the writer")
+						.register(registry);
+				FunctionCounter.builder("auth.audit.written", authAuditLog, AuthAuditLog::writtenCount)
+						.description("Audit events written to login_events")
+						.register(registry);
+				FunctionCounter.builder("auth.audit.dropped", authAuditLog, AuthAuditLog::droppedCount)
+						.description("Audit events lost")
+						.tag("reason", "buffer_full")
+						.register(registry);
+				FunctionCounter.builder("auth.audit.dropped", authAuditLog, AuthAuditLog::tokenRejectionsDroppedCount)
+						.description("Audit events lost")
+						.tag("reason", "token_rejection_share")
+						.register(registry);
+				FunctionCounter.builder("auth.audit.dropped", authAuditLog, AuthAuditLog::failedCount)
+						.description("Audit events lost")
+						.tag("reason", "write_failed")
+						.register(registry);
+			}
+		};
+	}
+
+	private static <T> void bindCache(
+			MeterRegistry registry,
+			String name,
+			T cache,
+			ToDoubleFunction<T> size,
+			Function<T, CacheStats> stats
+	) {
+		Gauge.builder(name + ".size", cache, size)
+				.register(registry);
+		FunctionCounter.builder(name + ".requests", cache, c -> stats.apply(c).hitCount())
+				.tag("result", "hit")
+				.register(registry);
+		FunctionCounter.builder(name + ".requests", cache, c -> stats.apply(c).missCount())
+				.tag("result", "miss")
+				.register(registry);
+		FunctionCounter.builder(name + ".evictions", cache, c -> stats.apply(c).evictionCount())
+				.register(registry);
+	}
+}
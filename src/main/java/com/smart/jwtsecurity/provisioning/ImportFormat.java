@@ -0,0 +1,17 @@
+package com.smart.jwtsecurity.provisioning;
+
+/**
+ * Accepted bulk import body formats (see ImportRecordReader).
+ */
+public enum ImportFormat {
+
+    /**
+     * application/x-ndjson: one JSON object per line.
+     */
+    NDJSON,
+
+    /**
+     * text/csv: header line username,email,password,roles.
+     */
+    CSV
+}
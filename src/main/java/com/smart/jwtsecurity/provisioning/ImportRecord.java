@@ -0,0 +1,14 @@
+package com.smart.jwtsecurity.provisioning;
+
+import java.util.List;
+
+/**
+ * One user of a bulk import, as read from NDJSON or CSV.
+ */
+public record ImportRecord(
+        String username,
+        String email,
+        String password,
+        List<String> roles
+) {
+}
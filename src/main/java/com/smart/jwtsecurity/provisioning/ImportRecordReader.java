@@ -0,0 +1,137 @@
+package com.smart.jwtsecurity.provisioning;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Streams ImportRecords from a request body, one line at a time.
+ *
+ * - NDJSON: {"username":..,"email":..,"password":..,"roles":[..]}
+ * - CSV: header line username,email,password,roles (roles separated by
+ *   ';'), double-quoted fields allowed
+ *
+ * Blank lines are skipped. A malformed line (including JSON that is not
+ * an object, e.g. null) yields an error entry and reading continues with
+ * the next line.
+ */
+final class ImportRecordReader {
+
+    /**
+     * One input line: either a record or the reason it could not be read.
+     */
+    record Line(long number, ImportRecord record, String error) {
+    }
+
+    private static final List<String> CSV_HEADER = List.of("username", "email", "password", "roles");
+
+    private final BufferedReader reader;
+    private final ImportFormat format;
+    private final JsonMapper jsonMapper;
+
+    private long lineNumber;
+    private boolean headerRead;
+
+    ImportRecordReader(BufferedReader reader, ImportFormat format, JsonMapper jsonMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Next line, or null at end of input.
+     */
+    Line next() throws IOException {
+
+        String text;
+        do {
+            text = reader.readLine();
+            lineNumber++;
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        if (format == ImportFormat.NDJSON) {
+            return ndjson(text);
+        }
+
+        if (!headerRead) {
+            headerRead = true;
+            List<String> header = Arrays.stream(text.split(",")).map(String::trim).toList();
+            if (!header.equals(CSV_HEADER)) {
+                throw new IllegalArgumentException("CSV header must be: " + String.join(",", CSV_HEADER));
+            }
+            return next();
+        }
+        return csv(text);
+    }
+
+    private Line ndjson(String text) {
+        try {
+            ImportRecord record = jsonMapper.readValue(text, ImportRecord.class);
+            if (record == null) {
+                return new Line(lineNumber, null, "not a JSON object");
+            }
+            return new Line(lineNumber, record, null);
+        } catch (JacksonException ex) {
+            return new Line(lineNumber, null, "malformed JSON");
+        }
+    }
+
+    private Line csv(String text) {
+
+        List<String> fields = splitCsv(text);
+        if (fields == null || fields.size() < 3 || fields.size() > 4) {
+            return new Line(lineNumber, null, "malformed CSV");
+        }
+
+        List<String> roles = fields.size() == 4 && !fields.get(3).isBlank()
+                ? Arrays.stream(fields.get(3).split(";")).map(String::trim).toList()
+                : List.of();
+
+        return new Line(lineNumber, new ImportRecord(fields.get(0), fields.get(1), fields.get(2), roles), null);
+    }
+
+    /**
+     * RFC 4180 fields of one line ("" escapes a quote). Null if a quote
+     * is left open.
+     */
+    private static List<String> splitCsv(String text) {
+
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
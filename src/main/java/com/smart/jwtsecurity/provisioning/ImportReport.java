@@ -0,0 +1,98 @@
+package com.smart.jwtsecurity.provisioning;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.smart.jwtsecurity.util.JsonStrings;
+
+/**
+ * Running totals of a bulk import. Written as one NDJSON line per chunk
+ * and once more at the end (done = true).
+ */
+public final class ImportReport {
+
+    private final int maxReportedErrors;
+    private final List<String> errors = new ArrayList<>();
+
+    private long processed;
+    private long created;
+    private long duplicates;
+    private long invalid;
+    private long failed;
+
+    ImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void created(int count) {
+        processed += count;
+        created += count;
+    }
+
+    void duplicate(long line, String username) {
+        processed++;
+        duplicates++;
+        error(line, "duplicate username or email: " + username);
+    }
+
+    void invalid(long line, String reason) {
+        processed++;
+        invalid++;
+        error(line, reason);
+    }
+
+    void failed(long line, String reason) {
+        processed++;
+        failed++;
+        error(line, reason);
+    }
+
+    public long processed() {
+        return processed;
+    }
+
+    public long created() {
+        return created;
+    }
+
+    public long duplicates() {
+        return duplicates;
+    }
+
+    public long invalid() {
+        return invalid;
+    }
+
+    public long failed() {
+        return failed;
+    }
+
+    public String toJson(boolean done) {
+
+        StringBuilder json = new StringBuilder(128)
+                .append("{\"done\":").append(done)
+                .append(",\"processed\":").append(processed)
+                .append(",\"created\":").append(created)
+                .append(",\"duplicates\":").append(duplicates)
+                .append(",\"invalid\":").append(invalid)
+                .append(",\"failed\":").append(failed);
+
+        if (done) {
+            json.append(",\"errors\":[");
+            for (int i = 0; i < errors.size(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                JsonStrings.append(json, errors.get(i));
+            }
+            json.append(']');
+        }
+        return json.append('}').toString();
+    }
+
+    private void error(long line, String reason) {
+        if (errors.size() < maxReportedErrors) {
+            errors.add("line " + line + ": " + reason);
+        }
+    }
+}
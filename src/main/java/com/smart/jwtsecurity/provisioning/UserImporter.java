@@ -0,0 +1,395 @@
+package com.smart.jwtsecurity.provisioning;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.smart.jwtsecurity.config.UserImportProperties;
+import com.smart.jwtsecurity.security.RoleConstants;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Bulk user creation, bypassing JPA.
+ *
+ * users.id is IDENTITY, which turns off Hibernate's insert batching, so
+ * records are written here with plain multi-row INSERTs instead:
+ *
+ * - Input is read and validated line by line, never held in full: only
+ *   the current chunk and its usernames / emails are in memory
+ * - Duplicates within a chunk are caught on the way in; a duplicate of a
+ *   record from an earlier chunk is already in the database by then and
+ *   is found by the lookup below
+ * - Per chunk: existing usernames / emails are looked up with one query
+ *   (UNION rather than OR, so both unique indexes are used),
+ *   passwords are hashed in parallel (user-import.threads), then users and
+ *   user_roles are written in one transaction; a record whose password
+ *   cannot be hashed is reported as failed, the rest of the chunk goes on
+ * - A chunk that still hits uk_users_username / uk_users_email (concurrent
+ *   insert) is rolled back and retried row by row, so only the colliding
+ *   records are reported as duplicates
+ *
+ * New users need no cache eviction: UserDetailsCache never caches misses.
+ */
+@Slf4j
+@Component
+public class UserImporter {
+
+    private static final String INSERT_USER_ROW = "(?, ?, ?, TRUE, 0, 0)";
+    private static final String INSERT_ROLE_ROW = "(?, ?)";
+
+    /**
+     * BCrypt reads at most 72 bytes and refuses to encode longer input.
+     */
+    private static final int MAX_PASSWORD_BYTES = 72;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final JsonMapper jsonMapper;
+    private final int chunkSize;
+    private final int maxReportedErrors;
+    private final ThreadPoolExecutor pool;
+
+    public UserImporter(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder,
+            JsonMapper jsonMapper,
+            UserImportProperties properties
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.jsonMapper = jsonMapper;
+        this.chunkSize = properties.getChunkSize();
+        this.maxReportedErrors = properties.getMaxReportedErrors();
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getChunkSize()),
+                r -> {
+                    Thread thread = new Thread(r, "user-import-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    /**
+     * Imports every record of the body. progress is called after each
+     * chunk with the running totals.
+     *
+     * Throws IllegalArgumentException if a CSV body has no valid header.
+     */
+    public ImportReport importUsers(Reader body, ImportFormat format, Consumer<ImportReport> progress)
+            throws IOException {
+
+        ImportReport report = new ImportReport(maxReportedErrors);
+        ImportRecordReader reader = new ImportRecordReader(
+                body instanceof BufferedReader buffered ? buffered : new BufferedReader(body),
+                format,
+                jsonMapper
+        );
+
+        // Keys of the current chunk only, cleared with it
+        Set<String> seen = new HashSet<>();
+        List<Pending> chunk = new ArrayList<>(chunkSize);
+
+        ImportRecordReader.Line line;
+        while ((line = reader.next()) != null) {
+
+            if (line.error() != null) {
+                report.invalid(line.number(), line.error());
+                continue;
+            }
+
+            ImportRecord record = line.record();
+            String reason = validate(record);
+            if (reason != null) {
+                report.invalid(line.number(), reason);
+                continue;
+            }
+
+            boolean newUsername = seen.add(key(record.username()));
+            boolean newEmail = seen.add(key(record.email()));
+            if (!newUsername || !newEmail) {
+                report.duplicate(line.number(), record.username());
+                continue;
+            }
+
+            chunk.add(new Pending(line.number(), record));
+            if (chunk.size() == chunkSize) {
+                writeChunk(chunk, report);
+                progress.accept(report);
+                chunk.clear();
+                seen.clear();
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, report);
+            progress.accept(report);
+        }
+        return report;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private void writeChunk(List<Pending> chunk, ImportReport report) {
+
+        List<Pending> unhashed = withoutExisting(chunk, report);
+        if (unhashed.isEmpty()) {
+            return;
+        }
+
+        List<String> hashed = hash(unhashed);
+        List<Pending> fresh = new ArrayList<>(unhashed.size());
+        List<String> hashes = new ArrayList<>(unhashed.size());
+        for (int i = 0; i < unhashed.size(); i++) {
+            if (hashed.get(i) == null) {
+                report.failed(unhashed.get(i).line(), "password could not be hashed");
+            } else {
+                fresh.add(unhashed.get(i));
+                hashes.add(hashed.get(i));
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(fresh, hashes));
+            report.created(fresh.size());
+        } catch (DuplicateKeyException ex) {
+            log.debug("Import chunk collided with concurrent inserts, retrying row by row");
+            insertOneByOne(fresh, hashes, report);
+        } catch (DataAccessException ex) {
+            log.warn("Import chunk failed", ex);
+            for (Pending pending : fresh) {
+                report.failed(pending.line(), "database error");
+            }
+        }
+    }
+
+    /**
+     * Drops (and reports) records whose username or email is already taken.
+     */
+    private List<Pending> withoutExisting(List<Pending> chunk, ImportReport report) {
+
+        List<Object> args = new ArrayList<>(chunk.size() * 2);
+        for (Pending pending : chunk) {
+            args.add(pending.record().username());
+        }
+        for (Pending pending : chunk) {
+            args.add(pending.record().email());
+        }
+
+        String placeholders = placeholders(chunk.size());
+        Set<String> taken = new HashSet<>();
+        jdbcTemplate.query(
+                "SELECT username, email FROM users WHERE username IN " + placeholders
+                        + " UNION SELECT username, email FROM users WHERE email IN " + placeholders,
+                rs -> {
+                    taken.add(key(rs.getString(1)));
+                    taken.add(key(rs.getString(2)));
+                },
+                args.toArray()
+        );
+
+        if (taken.isEmpty()) {
+            return chunk;
+        }
+
+        List<Pending> fresh = new ArrayList<>(chunk.size());
+        for (Pending pending : chunk) {
+            if (taken.contains(key(pending.record().username()))
+                    || taken.contains(key(pending.record().email()))) {
+                report.duplicate(pending.line(), pending.record().username());
+            } else {
+                fresh.add(pending);
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Encodes all passwords of the chunk on the import pool. When the pool
+     * is saturated the calling thread hashes too. A null entry marks a
+     * password the encoder refused.
+     */
+    private List<String> hash(List<Pending> chunk) {
+
+        List<CompletableFuture<String>> futures = new ArrayList<>(chunk.size());
+        for (Pending pending : chunk) {
+            String password = pending.record().password();
+            futures.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(password), pool)
+                    .exceptionally(ex -> {
+                        log.warn("Import of line {} failed: password not hashed", pending.line(), ex);
+                        return null;
+                    }));
+        }
+
+        List<String> hashes = new ArrayList<>(chunk.size());
+        for (CompletableFuture<String> future : futures) {
+            hashes.add(future.join());
+        }
+        return hashes;
+    }
+
+    /**
+     * One multi-row INSERT for users, one SELECT for the generated ids,
+     * one multi-row INSERT for user_roles. Caller provides the transaction.
+     */
+    private void insert(List<Pending> chunk, List<String> hashes) {
+
+        List<Object> userArgs = new ArrayList<>(chunk.size() * 3);
+        for (int i = 0; i < chunk.size(); i++) {
+            ImportRecord record = chunk.get(i).record();
+            userArgs.add(record.username());
+            userArgs.add(record.email());
+            userArgs.add(hashes.get(i));
+        }
+        jdbcTemplate.update(
+                "INSERT INTO users (username, email, password, enabled, token_version, token_version_at) VALUES "
+                        + rows(INSERT_USER_ROW, chunk.size()),
+                userArgs.toArray()
+        );
+
+        List<Object> usernames = new ArrayList<>(chunk.size());
+        for (Pending pending : chunk) {
+            usernames.add(pending.record().username());
+        }
+        Map<String, Long> ids = new HashMap<>(chunk.size() * 2);
+        jdbcTemplate.query(
+                "SELECT id, username FROM users WHERE username IN " + placeholders(chunk.size()),
+                rs -> {
+                    ids.put(key(rs.getString(2)), rs.getLong(1));
+                },
+                usernames.toArray()
+        );
+
+        List<Object> roleArgs = new ArrayList<>(chunk.size() * 2);
+        int roleRows = 0;
+        for (Pending pending : chunk) {
+            Long id = ids.get(key(pending.record().username()));
+            for (String role : roles(pending.record())) {
+                roleArgs.add(id);
+                roleArgs.add(role);
+                roleRows++;
+            }
+        }
+        jdbcTemplate.update(
+                "INSERT INTO user_roles (user_id, role) VALUES " + rows(INSERT_ROLE_ROW, roleRows),
+                roleArgs.toArray()
+        );
+    }
+
+    private void insertOneByOne(List<Pending> chunk, List<String> hashes, ImportReport report) {
+
+        for (int i = 0; i < chunk.size(); i++) {
+            List<Pending> single = List.of(chunk.get(i));
+            List<String> hash = List.of(hashes.get(i));
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(single, hash));
+                report.created(1);
+            } catch (DuplicateKeyException ex) {
+                report.duplicate(chunk.get(i).line(), chunk.get(i).record().username());
+            } catch (DataAccessException ex) {
+                log.warn("Import of line {} failed", chunk.get(i).line(), ex);
+                report.failed(chunk.get(i).line(), "database error");
+            }
+        }
+    }
+
+    /**
+     * Null if the record can be imported, otherwise the reason it cannot.
+     * Limits mirror the users / user_roles column sizes.
+     */
+    private static String validate(ImportRecord record) {
+
+        if (isBlank(record.username()) || isBlank(record.email()) || isBlank(record.password())) {
+            return "username, email and password are required";
+        }
+        if (record.username().length() > 100 || record.username().indexOf('@') >= 0) {
+            return "invalid username";
+        }
+        if (record.email().length() > 150 || record.email().indexOf('@') <= 0) {
+            return "invalid email";
+        }
+        if (record.password().getBytes(StandardCharsets.UTF_8).length > MAX_PASSWORD_BYTES) {
+            return "password longer than " + MAX_PASSWORD_BYTES + " bytes";
+        }
+        if (record.roles() != null) {
+            for (String role : record.roles()) {
+                if (role == null || !RoleConstants.isValid(role)) {
+                    return "unknown role: " + role;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Requested roles without repeats; ROLE_USER when none are given.
+     */
+    private static Set<String> roles(ImportRecord record) {
+        return record.roles() == null || record.roles().isEmpty()
+                ? Set.of(RoleConstants.ROLE_USER)
+                : new HashSet<>(record.roles());
+    }
+
+    private static String placeholders(int count) {
+        return "(" + String.join(", ", Collections.nCopies(count, "?")) + ")";
+    }
+
+    private static String rows(String row, int count) {
+        return String.join(", ", Collections.nCopies(count, row));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    /**
+     * Lower-cased, to match the case-insensitive unique indexes.
+     */
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private record Pending(long line, ImportRecord record) {
+    }
+}
@@ -0,0 +1,213 @@
+package com.smart.jwtsecurity.ratelimit;
+
+import java.security.SecureRandom;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.stereotype.Component;
+
+import com.smart.jwtsecurity.config.RateLimitProperties;
+
+/**
+ * Failed logins per account, in constant memory.
+ *
+ * The per-IP limiter misses an attack that spreads guesses for one
+ * username over thousands of addresses. This counts failures per
+ * account instead (AuthController passes the resolved username, so an
+ * account's username and email share one count), without a map entry per
+ * name, so attacking millions of usernames cannot grow memory:
+ *
+ * - Counts: two count-min sketches, the current and the previous window
+ *   (rate-limit.account.window-ms). The estimate slides: current +
+ *   previous weighted by how much of it still overlaps the last window.
+ * - Last failure: one more sketch of timestamps, updated with max and
+ *   read with min, so it too can only err towards "more recent".
+ * - Delay: after free-failures, the next attempt must wait base-delay-ms,
+ *   doubling per further failure up to max-delay-ms (the lockout). A
+ *   throttled attempt is refused before the password is checked, right
+ *   or wrong, so it reveals nothing.
+ *
+ * Sketches never undercount, so an attacked account is always caught;
+ * collisions can only delay an innocent one, and stay rare while failures
+ * per window are well below width. Cells come from a hash with a random
+ * per-process seed, so colliding usernames are not known in advance.
+ *
+ * Memory: depth * width * (2 * 4 + 8) bytes, about 2 MiB by default.
+ * Node-local, like InMemoryRateLimitStore.
+ */
+@Component
+public class AccountFailureTracker {
+
+    private final boolean enabled;
+    private final long windowMs;
+    private final int freeFailures;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final int width;
+    private final int depth;
+    private final long seed = new SecureRandom().nextLong();
+
+    private final AtomicLongArray lastFailure;
+    private volatile Windows windows;
+
+    public AccountFailureTracker(RateLimitProperties properties) {
+
+        RateLimitProperties.Account account = properties.getAccount();
+
+        this.enabled = account.isEnabled();
+        this.windowMs = account.getWindowMs();
+        this.freeFailures = account.getFreeFailures();
+        this.baseDelayMs = account.getBaseDelayMs();
+        this.maxDelayMs = account.getMaxDelayMs();
+        this.width = Integer.highestOneBit(account.getWidth() - 1) << 1;
+        this.depth = account.getDepth();
+
+        if (!enabled) {
+            this.lastFailure = null;
+            return;
+        }
+
+        this.lastFailure = new AtomicLongArray(width * depth);
+        long now = System.currentTimeMillis();
+        this.windows = new Windows(now, sketch(), sketch());
+    }
+
+    /**
+     * Milliseconds before a login for this username may be attempted;
+     * 0 when it is allowed now.
+     */
+    public long retryAfterMillis(String username) {
+
+        if (!enabled) {
+            return 0;
+        }
+
+        long now = System.currentTimeMillis();
+        int[] cells = cells(username);
+
+        int failures = failures(windows(now), cells, now);
+        if (failures < freeFailures) {
+            return 0;
+        }
+
+        long last = Long.MAX_VALUE;
+        for (int cell : cells) {
+            last = Math.min(last, lastFailure.get(cell));
+        }
+
+        return Math.max(0, last + delay(failures) - now);
+    }
+
+    /**
+     * Counts a failed login (wrong password or unknown user).
+     */
+    public void recordFailure(String username) {
+
+        if (!enabled) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        int[] cells = cells(username);
+
+        windows(now).current.add(cells);
+        for (int cell : cells) {
+            if (lastFailure.get(cell) < now) {
+                lastFailure.accumulateAndGet(cell, now, Math::max);
+            }
+        }
+    }
+
+    /**
+     * Delay owed after this many failures in the window.
+     */
+    long delay(int failures) {
+        int doublings = Math.min(failures - freeFailures, 30);
+        return Math.min(maxDelayMs, baseDelayMs << doublings);
+    }
+
+    /**
+     * Sliding estimate per row, then the minimum over rows.
+     */
+    private int failures(Windows windows, int[] cells, long now) {
+
+        double overlap = 1.0 - Math.min(1.0, (double) (now - windows.start) / windowMs);
+
+        double min = Double.MAX_VALUE;
+        for (int cell : cells) {
+            min = Math.min(min, windows.current.get(cell) + windows.previous.get(cell) * overlap);
+        }
+        return (int) min;
+    }
+
+    private Windows windows(long now) {
+
+        Windows current = windows;
+        if (now - current.start < windowMs) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = windows;
+            long elapsed = now - current.start;
+            if (elapsed >= windowMs) {
+                // Aligned to the original start; after an idle gap of two or
+                // more windows nothing carries over.
+                long start = now - elapsed % windowMs;
+                current = new Windows(
+                        start,
+                        sketch(),
+                        elapsed < 2 * windowMs ? current.current : sketch()
+                );
+                windows = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * One cell per row: double hashing over a seeded 64-bit hash of the
+     * normalized username.
+     */
+    private int[] cells(String username) {
+
+        String key = username.trim().toLowerCase(Locale.ROOT);
+
+        long h1 = hash(key);
+        long h2 = mix(h1 + 0x9E3779B97F4A7C15L) | 1;
+
+        int[] cells = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            cells[row] = row * width + (int) ((h1 + row * h2) & (width - 1));
+        }
+        return cells;
+    }
+
+    /**
+     * FNV-1a from a random offset, then the murmur3 finalizer.
+     */
+    private long hash(String value) {
+
+        long h = 0xCBF29CE484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private CountMinSketch sketch() {
+        return new CountMinSketch(width, depth);
+    }
+
+    private record Windows(long start, CountMinSketch current, CountMinSketch previous) {}
+}
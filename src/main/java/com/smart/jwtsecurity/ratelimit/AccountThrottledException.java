@@ -0,0 +1,24 @@
+package com.smart.jwtsecurity.ratelimit;
+
+/**
+ * Thrown when a username has too many recent failed logins
+ * (AccountFailureTracker). Mapped to 429 with Retry-After by AuthController.
+ *
+ * Raised before the password is checked, so it says nothing about whether
+ * the password would have been right.
+ */
+public class AccountThrottledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    public AccountThrottledException(long retryAfterMillis) {
+        super("Too many failed logins for this account", null, false, false);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
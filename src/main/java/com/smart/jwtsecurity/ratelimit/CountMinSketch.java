@@ -0,0 +1,48 @@
+package com.smart.jwtsecurity.ratelimit;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Fixed-size, lock-free count-min sketch.
+ *
+ * depth rows of width counters in one flat array; a key maps to one cell
+ * per row (see AccountFailureTracker.cells). The estimate is the minimum
+ * of its cells, so it never undercounts; collisions can only make it
+ * higher. Memory is depth * width ints, however many keys are counted.
+ *
+ * add() increments every cell of the key atomically. Conservative
+ * update (raising only cells below the new estimate) would inflate less
+ * on collisions, but as read-then-max it lets concurrent adds of one key
+ * count once, which is exactly the burst this has to catch.
+ */
+final class CountMinSketch {
+
+    private final AtomicIntegerArray counters;
+
+    CountMinSketch(int width, int depth) {
+        this.counters = new AtomicIntegerArray(width * depth);
+    }
+
+    /**
+     * Counts one occurrence of the key with the given cells.
+     */
+    void add(int[] cells) {
+
+        for (int cell : cells) {
+            counters.incrementAndGet(cell);
+        }
+    }
+
+    int estimate(int[] cells) {
+
+        int min = Integer.MAX_VALUE;
+        for (int cell : cells) {
+            min = Math.min(min, counters.get(cell));
+        }
+        return min;
+    }
+
+    int get(int cell) {
+        return counters.get(cell);
+    }
+}
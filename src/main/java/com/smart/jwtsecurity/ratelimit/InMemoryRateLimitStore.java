@@ -0,0 +1,104 @@
+package com.smart.jwtsecurity.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.smart.jwtsecurity.config.RateLimitProperties;
+
+/**
+ * Node-local RateLimitStore: bounded, lock-free sliding-window counter per key.
+ *
+ * - Windows are aligned (window start = now - now % window), like the
+ *   JDBC store, but the limit applies to a sliding estimate: attempts in
+ *   the current window plus the previous window's, weighted by how much
+ *   of it still overlaps the last window length (as in
+ *   AccountFailureTracker). A burst straddling a window boundary cannot
+ *   get twice max-attempts through.
+ * - Updates are a single atomic increment, so concurrent attempts are
+ *   never lost; only the rollover to a new window takes a lock
+ * - Keys are held in a bounded Caffeine map (rate-limit.max-tracked-keys)
+ *   and expire two windows after their last attempt, when nothing of
+ *   them counts any more, even without traffic
+ *
+ * Once a key is over the limit, further attempts are rejected without
+ * writing, so a hot key does not cause contention.
+ */
+@Component
+@ConditionalOnProperty(prefix = "rate-limit", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final int maxAttempts;
+    private final long windowMs;
+    private final Cache<String, SlidingCounter> counters;
+
+    public InMemoryRateLimitStore(RateLimitProperties properties) {
+        this.maxAttempts = properties.getMaxAttempts();
+        this.windowMs = properties.getWindowMs();
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterAccess(Duration.ofMillis(2 * windowMs))
+                .scheduler(Scheduler.systemScheduler())
+                .build();
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+
+        long now = System.currentTimeMillis();
+        long windowStart = now - (now % windowMs);
+
+        Windows windows = counters.get(key, k -> new SlidingCounter(windowStart)).windows(windowStart, windowMs);
+
+        double overlap = 1.0 - (double) (now - windowStart) / windowMs;
+        double carried = windows.previous * overlap;
+
+        if (windows.current.get() + carried >= maxAttempts) {
+            return false;
+        }
+        return windows.current.incrementAndGet() + carried <= maxAttempts;
+    }
+
+    @Override
+    public long trackedKeys() {
+        return counters.estimatedSize();
+    }
+
+    private static final class SlidingCounter {
+
+        private volatile Windows windows;
+
+        SlidingCounter(long windowStart) {
+            this.windows = new Windows(windowStart, new AtomicInteger(), 0);
+        }
+
+        /**
+         * The windows as of windowStart, rolling over if it began since.
+         * After a gap of a whole window nothing carries over.
+         */
+        Windows windows(long windowStart, long windowMs) {
+
+            Windows current = windows;
+            if (current.start == windowStart) {
+                return current;
+            }
+
+            synchronized (this) {
+                current = windows;
+                if (current.start < windowStart) {
+                    int previous = windowStart - current.start == windowMs ? current.current.get() : 0;
+                    current = new Windows(windowStart, new AtomicInteger(), previous);
+                    windows = current;
+                }
+                return current;
+            }
+        }
+    }
+
+    private record Windows(long start, AtomicInteger current, int previous) {}
+}
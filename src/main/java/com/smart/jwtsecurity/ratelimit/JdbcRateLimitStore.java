@@ -0,0 +1,275 @@
+package com.smart.jwtsecurity.ratelimit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.smart.jwtsecurity.config.RateLimitProperties;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shared RateLimitStore backed by the application datasource.
+ *
+ * Windows are aligned (window_start = now - now % window) so every replica
+ * agrees on boundaries without coordination.
+ *
+ * Attempts are coalesced, never written one round-trip at a time:
+ * - tryAcquire only touches local atomics (last shared count + pending delta)
+ * - a background flusher writes all pending deltas as one upsert batch,
+ *   then reads back shared counts for recently active keys in IN-list chunks
+ * - expired windows are purged with small LIMITed deletes
+ * - a counter evicted before its delta was written (max-tracked-keys
+ *   reached) is handed to the next flush, so its attempts still count
+ *
+ * The limit is enforced cluster-wide with a staleness of about one flush
+ * interval (rate-limit.jdbc.flush-interval-ms). If the database is
+ * unavailable, pending deltas are kept and still count locally.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "rate-limit", name = "store", havingValue = "jdbc")
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final String UPSERT = """
+            INSERT INTO login_rate_limit (window_start, rl_key, attempts)
+            VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE attempts = attempts + ?
+            """;
+
+    private static final String SELECT_COUNTS =
+            "SELECT rl_key, attempts FROM login_rate_limit WHERE window_start = ? AND rl_key IN (%s)";
+
+    private static final String PURGE =
+            "DELETE FROM login_rate_limit WHERE window_start < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxAttempts;
+    private final long windowMs;
+    private final int batchSize;
+
+    /**
+     * Keyed by window start + client key, so a window's counter is never
+     * replaced before its pending delta has been flushed.
+     */
+    private final Cache<String, WindowCounter> counters;
+
+    /**
+     * Evicted counters; dropped by the flush once nothing is pending.
+     */
+    private final Queue<WindowCounter> evicted = new ConcurrentLinkedQueue<>();
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "rate-limit-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public JdbcRateLimitStore(JdbcTemplate jdbcTemplate, RateLimitProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAttempts = properties.getMaxAttempts();
+        this.windowMs = properties.getWindowMs();
+        this.batchSize = properties.getJdbc().getBatchSize();
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxTrackedKeys())
+                .expireAfterWrite(Duration.ofMillis(2 * windowMs))
+                // Queued even when nothing is pending yet: a thread that
+                // already holds the counter may still count on it
+                .evictionListener((String key, WindowCounter counter, RemovalCause cause) -> evicted.add(counter))
+                .build();
+
+        long flushMs = properties.getJdbc().getFlushIntervalMs();
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushMs, flushMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::purgeQuietly, windowMs, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+
+        long windowStart = currentWindowStart();
+        WindowCounter counter = counters.get(
+                windowStart + "|" + key,
+                k -> new WindowCounter(key, windowStart)
+        );
+        counter.touched = true;
+
+        while (true) {
+            int pending = counter.pending.get();
+            if (counter.shared + pending >= maxAttempts) {
+                return false;
+            }
+            if (counter.pending.compareAndSet(pending, pending + 1)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public long trackedKeys() {
+        return counters.estimatedSize();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        flushQuietly();
+    }
+
+    /**
+     * One flush cycle: write pending deltas, then refresh active keys.
+     * Runs on the single flusher thread only, which is the sole writer of
+     * WindowCounter.shared.
+     */
+    void flush() {
+
+        long windowStart = currentWindowStart();
+        List<WindowCounter> dirty = new ArrayList<>();
+        List<WindowCounter> active = new ArrayList<>();
+
+        // Evicted counters stay queued until a write has taken their delta
+        counters.cleanUp();
+        evicted.removeIf(counter -> counter.pending.get() == 0);
+        dirty.addAll(evicted);
+
+        for (WindowCounter counter : counters.asMap().values()) {
+            if (counter.pending.get() > 0) {
+                dirty.add(counter);
+            }
+            if (counter.windowStart == windowStart && counter.touched) {
+                counter.touched = false;
+                active.add(counter);
+            }
+        }
+
+        for (int from = 0; from < dirty.size(); from += batchSize) {
+            write(dirty.subList(from, Math.min(from + batchSize, dirty.size())));
+        }
+        for (int from = 0; from < active.size(); from += batchSize) {
+            refresh(windowStart, active.subList(from, Math.min(from + batchSize, active.size())));
+        }
+    }
+
+    private void write(List<WindowCounter> chunk) {
+
+        int[] deltas = new int[chunk.size()];
+        List<Object[]> args = new ArrayList<>(chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            WindowCounter counter = chunk.get(i);
+            deltas[i] = counter.pending.get();
+            args.add(new Object[] { counter.windowStart, counter.key, deltas[i], deltas[i] });
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT, args);
+
+        // Count the delta as shared before removing it from pending,
+        // so a concurrent tryAcquire only ever over-counts.
+        for (int i = 0; i < chunk.size(); i++) {
+            WindowCounter counter = chunk.get(i);
+            counter.shared += deltas[i];
+            counter.pending.addAndGet(-deltas[i]);
+        }
+    }
+
+    private void refresh(long windowStart, List<WindowCounter> chunk) {
+
+        Map<String, WindowCounter> byKey = new HashMap<>(chunk.size() * 2);
+        Object[] args = new Object[chunk.size() + 1];
+        args[0] = windowStart;
+
+        for (int i = 0; i < chunk.size(); i++) {
+            WindowCounter counter = chunk.get(i);
+            byKey.put(counter.key, counter);
+            args[i + 1] = counter.key;
+        }
+
+        String sql = SELECT_COUNTS.formatted(String.join(",", Collections.nCopies(chunk.size(), "?")));
+
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+            WindowCounter counter = byKey.get(rs.getString(1));
+            if (counter != null) {
+                counter.shared = Math.max(counter.shared, rs.getInt(2));
+            }
+        }, args);
+    }
+
+    /**
+     * Deletes windows that can no longer be read, batchSize rows at a time,
+     * so the purge never holds long locks.
+     */
+    void purge() {
+
+        long cutoff = currentWindowStart() - windowMs;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE, cutoff, batchSize);
+        } while (deleted == batchSize);
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (DataAccessException ex) {
+            log.warn("RATE LIMIT: flush failed, keeping counts local | reason={}", ex.getMessage());
+        }
+    }
+
+    private void purgeQuietly() {
+        try {
+            purge();
+        } catch (DataAccessException ex) {
+            log.warn("RATE LIMIT: purge failed | reason={}", ex.getMessage());
+        }
+    }
+
+    private long currentWindowStart() {
+        long now = System.currentTimeMillis();
+        return now - (now % windowMs);
+    }
+
+    private static final class WindowCounter {
+
+        final String key;
+        final long windowStart;
+
+        /**
+         * Attempts accepted locally but not yet written.
+         */
+        final AtomicInteger pending = new AtomicInteger();
+
+        /**
+         * Last known cluster-wide count. Written by the flusher only.
+         */
+        volatile int shared;
+
+        /**
+         * Set on every attempt; cleared when the key is refreshed.
+         */
+        volatile boolean touched;
+
+        WindowCounter(String key, long windowStart) {
+            this.key = key;
+            this.windowStart = windowStart;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.smart.jwtsecurity.ratelimit;
+
+/**
+ * Backend for login rate limiting.
+ *
+ * Implementations decide where attempt counters live:
+ * - memory: per node (default)
+ * - jdbc:   shared across replicas through the application datasource
+ *
+ * Selected with rate-limit.store.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Records one attempt for the key.
+     *
+     * @return true if the attempt is within the limit
+     */
+    boolean tryAcquire(String key);
+
+    /**
+     * Approximate number of keys currently tracked on this node.
+     */
+    long trackedKeys();
+}
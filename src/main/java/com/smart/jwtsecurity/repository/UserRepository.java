@@ -1,8 +1,13 @@
 package com.smart.jwtsecurity.repository;
 
 import com.smart.jwtsecurity.domain.entity.User;
+import com.smart.jwtsecurity.domain.projection.AuthUser;
+import com.smart.jwtsecurity.domain.projection.AuthUserRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -11,4 +16,50 @@ import java.util.Optional;
 public interface UserRepository extends JpaRepository<User, Long> {
 
 	Optional<User> findByUsernameOrEmail(String username, String email);
+
+	/**
+	 * Authentication read path.
+	 *
+	 * Picks ONE unique index by input shape instead of "username = ? OR email = ?":
+	 * - contains '@' → email lookup, then username (legacy usernames with '@')
+	 * - otherwise    → username lookup
+	 *
+	 * User columns and roles come back in a single join query.
+	 */
+	default Optional<AuthUser> findForAuthentication(String usernameOrEmail) {
+
+		if (usernameOrEmail.indexOf('@') >= 0) {
+			Optional<AuthUser> byEmail = AuthUser.fromRows(findAuthRowsByEmail(usernameOrEmail));
+			if (byEmail.isPresent()) {
+				return byEmail;
+			}
+		}
+
+		return AuthUser.fromRows(findAuthRowsByUsername(usernameOrEmail));
+	}
+
+	@Query("""
+			select new com.smart.jwtsecurity.domain.projection.AuthUserRow(u.id, u.username, u.password, u.enabled, r)
+			from User u left join u.roles r
+			where u.username = :username
+			""")
+	List<AuthUserRow> findAuthRowsByUsername(String username);
+
+	@Query("""
+			select new com.smart.jwtsecurity.domain.projection.AuthUserRow(u.id, u.username, u.password, u.enabled, r)
+			from User u left join u.roles r
+			where u.email = :email
+			""")
+	List<AuthUserRow> findAuthRowsByEmail(String email);
+
+	@Query("select u.email from User u where u.username = :username")
+	Optional<String> findEmailByUsername(String username);
+
+	/**
+	 * Replaces the stored hash without loading the entity.
+	 * Used for transparent rehash on login.
+	 */
+	@Modifying
+	@Query("update User u set u.password = :password where u.username = :username")
+	int updatePassword(String username, String password);
 }
@@ -0,0 +1,150 @@
+package com.smart.jwtsecurity.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+/**
+ * AuthenticationManager that lets concurrent identical logins share one
+ * authentication (single flight).
+ *
+ * When a fleet restarts, many instances log in with the same account at
+ * the same moment. The first request (the leader) runs the user lookup
+ * and the password hash; requests with the same username AND the same
+ * password that arrive while it runs wait for its result instead of
+ * repeating the work. The entry is dropped as soon as the leader
+ * finishes, so nothing is cached beyond the flight itself.
+ *
+ * - Key: HMAC-SHA256 over username and password under a random
+ *   per-process key. A differing password is a different key, so it
+ *   never joins someone else's flight; the map never holds a password
+ *   or an offline-guessable hash of one.
+ * - Timing: the key is computed before any lookup, so whether a request
+ *   is coalesced depends only on an identical request being in flight,
+ *   never on the account existing or the password being right.
+ * - Failures are shared too: every waiter gets the leader's exception
+ *   (bad credentials, disabled, 503 when the hash pool is full).
+ *
+ * Each request still passes the rate limiter and is logged and counted
+ * on its own.
+ */
+public class CoalescingAuthenticationManager implements AuthenticationManager {
+
+    private static final String HMAC = "HmacSHA256";
+
+    private final AuthenticationManager delegate;
+    private final Mac prototype;
+
+    private final ConcurrentHashMap<String, CompletableFuture<Authentication>> inFlight =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    public CoalescingAuthenticationManager(AuthenticationManager delegate) {
+        this.delegate = delegate;
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        try {
+            this.prototype = Mac.getInstance(HMAC);
+            this.prototype.init(new SecretKeySpec(key, HMAC));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HmacSHA256 unavailable", ex);
+        }
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+
+        // Only username / password logins are coalesced
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken)
+                || !(authentication.getCredentials() instanceof CharSequence password)) {
+            return delegate.authenticate(authentication);
+        }
+
+        String key = key(authentication.getName(), password);
+
+        CompletableFuture<Authentication> flight = new CompletableFuture<>();
+        CompletableFuture<Authentication> leader = inFlight.putIfAbsent(key, flight);
+
+        if (leader != null) {
+            coalesced.increment();
+            return await(leader);
+        }
+
+        try {
+            Authentication result = delegate.authenticate(authentication);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Logins answered from another request's authentication.
+     */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Distinct authentications currently running.
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Authentication await(CompletableFuture<Authentication> leader) {
+
+        try {
+            return leader.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Authentication interrupted", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new AuthenticationServiceException("Authentication failed", ex.getCause());
+        }
+    }
+
+    private String key(String username, CharSequence password) {
+
+        byte[] user = username.getBytes(StandardCharsets.UTF_8);
+
+        Mac mac;
+        try {
+            mac = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException ex) {
+            throw new IllegalStateException(ex);
+        }
+
+        // Length prefix: ("ab", "c") and ("a", "bc") must not collide
+        mac.update(new byte[] {
+                (byte) (user.length >>> 24), (byte) (user.length >>> 16),
+                (byte) (user.length >>> 8), (byte) user.length
+        });
+        mac.update(user);
+        mac.update(password.toString().getBytes(StandardCharsets.UTF_8));
+
+        return Base64.getEncoder().encodeToString(mac.doFinal());
+    }
+}
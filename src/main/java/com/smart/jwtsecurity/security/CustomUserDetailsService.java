@@ -4,13 +4,18 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import com.smart.jwtsecurity.domain.entity.User;
+import com.smart.jwtsecurity.domain.event.UserChangedEvent;
+import com.smart.jwtsecurity.domain.projection.AuthUser;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
 import com.smart.jwtsecurity.repository.UserRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -19,32 +24,68 @@ import lombok.RequiredArgsConstructor;
  * Adapter between User entity and Spring Security.
  * 
  * Used internally by DaoAuthenticationProvider.
+ * Lookups go through UserDetailsCache, so repeat logins skip the database.
+ *
+ * Also the UserDetailsPasswordService: after a successful login whose stored
+ * hash uses an outdated algorithm or cost, DaoAuthenticationProvider calls
+ * updatePassword() with a fresh hash of the presented password.
  */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AuthMetrics metrics;
 
     @Override
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
 
-        User user = userRepository.findByUsernameOrEmail(username, username)
-                .orElseThrow(() ->
-                        new UsernameNotFoundException("User not found"));
+        return userDetailsCache.get(username, this::loadFromDatabase);
+    }
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+
+        userRepository.updatePassword(user.getUsername(), newPassword);
+
+        eventPublisher.publishEvent(new UserChangedEvent(
+                user.getUsername(),
+                userRepository.findEmailByUsername(user.getUsername()).orElse(null)
+        ));
+
+        return org.springframework.security.core.userdetails.User
+                .withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
+    private UserDetails loadFromDatabase(String username) {
+
+        long start = metrics.start();
+        AuthUser user;
+        try {
+            user = userRepository.findForAuthentication(username)
+                    .orElseThrow(() ->
+                            new UsernameNotFoundException("User not found"));
+        } finally {
+            metrics.userLoaded(start);
+        }
 
         Set<GrantedAuthority> authorities =
-                user.getRoles()
+                user.roles()
                         .stream()
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toSet());
 
         return org.springframework.security.core.userdetails.User
-                .withUsername(user.getUsername())
-                .password(user.getPassword())
+                .withUsername(user.username())
+                .password(user.password())
                 .authorities(authorities)
-                .disabled(!user.isEnabled())
+                .disabled(!user.enabled())
                 .build();
     }
 }
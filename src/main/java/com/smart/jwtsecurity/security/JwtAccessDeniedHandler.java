@@ -7,10 +7,22 @@ import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * 403 with a fixed JSON body, encoded once and written as raw bytes.
+ */
 @Component
 public class JwtAccessDeniedHandler implements AccessDeniedHandler {
 
+    private static final byte[] BODY = """
+            {
+              "status": 403,
+              "error": "FORBIDDEN",
+              "message": "You do not have permission to access this resource"
+            }
+        """.getBytes(StandardCharsets.UTF_8);
+
     @Override
     public void handle(
             HttpServletRequest request,
@@ -20,13 +32,8 @@ public class JwtAccessDeniedHandler implements AccessDeniedHandler {
 
         response.setStatus(HttpServletResponse.SC_FORBIDDEN);
         response.setContentType("application/json");
+        response.setContentLength(BODY.length);
 
-        response.getWriter().write("""
-            {
-              "status": 403,
-              "error": "FORBIDDEN",
-              "message": "You do not have permission to access this resource"
-            }
-        """);
+        response.getOutputStream().write(BODY);
     }
 }
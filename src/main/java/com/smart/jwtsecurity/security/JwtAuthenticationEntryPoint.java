@@ -7,10 +7,24 @@ import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
+/**
+ * 401 with a fixed JSON body, encoded once and written as raw bytes.
+ * Every rejected token ends here, so this is the hot path of a flood of
+ * garbage or expired tokens.
+ */
 @Component
 public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
+    private static final byte[] BODY = """
+            {
+              "status": 401,
+              "error": "UNAUTHORIZED",
+              "message": "Authentication required or token invalid"
+            }
+        """.getBytes(StandardCharsets.UTF_8);
+
     @Override
     public void commence(
             HttpServletRequest request,
@@ -20,13 +34,8 @@ public class JwtAuthenticationEntryPoint implements AuthenticationEntryPoint {
 
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         response.setContentType("application/json");
+        response.setContentLength(BODY.length);
 
-        response.getWriter().write("""
-            {
-              "status": 401,
-              "error": "UNAUTHORIZED",
-              "message": "Authentication required or token invalid"
-            }
-        """);
+        response.getOutputStream().write(BODY);
     }
 }
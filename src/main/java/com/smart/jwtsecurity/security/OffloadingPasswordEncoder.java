@@ -0,0 +1,131 @@
+package com.smart.jwtsecurity.security;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * PasswordEncoder that runs matches() on a bounded pool of platform threads.
+ *
+ * - Fixed pool (password.threads, default: cores) + bounded queue
+ *   (password.queue-capacity)
+ * - When both are full, matches() fails fast with
+ *   PasswordVerificationRejectedException (503) instead of queueing, so a
+ *   login storm can tie up at most threads + queue request threads and
+ *   JWT-only traffic keeps its workers
+ * - On a virtual request thread the wait parks cheaply, so BCrypt never
+ *   occupies a carrier thread
+ *
+ * encode() is rare (user creation) and stays on the caller.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor pool;
+
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity) {
+        this.delegate = delegate;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "password-verify-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+
+        Future<Boolean> result;
+        try {
+            result = pool.submit(() -> timedMatches(rawPassword, encodedPassword));
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw new PasswordVerificationRejectedException();
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new AuthenticationServiceException("Password verification interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new AuthenticationServiceException("Password verification failed", ex.getCause());
+        }
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /**
+     * Verifications waiting for a pool thread.
+     */
+    public int queueDepth() {
+        return pool.getQueue().size();
+    }
+
+    /**
+     * Verifications currently hashing.
+     */
+    public int activeCount() {
+        return pool.getActiveCount();
+    }
+
+    public long verificationCount() {
+        return verifications.sum();
+    }
+
+    /**
+     * Total time spent inside the delegate's matches(), in nanoseconds.
+     */
+    public long totalHashNanos() {
+        return hashNanos.sum();
+    }
+
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    private boolean timedMatches(CharSequence rawPassword, String encodedPassword) {
+        long start = System.nanoTime();
+        try {
+            return delegate.matches(rawPassword, encodedPassword);
+        } finally {
+            hashNanos.add(System.nanoTime() - start);
+            verifications.increment();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.smart.jwtsecurity.security;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import com.smart.jwtsecurity.config.PasswordProperties;
+
+/**
+ * The password encoder both editions (servlet and reactive) hash with.
+ *
+ * {id}-prefixed hashes; new ones use password.encoder, any known id
+ * still verifies, and unprefixed hashes are treated as plain BCrypt.
+ */
+public final class PasswordEncoders {
+
+    private PasswordEncoders() {}
+
+    public static PasswordEncoder delegating(PasswordProperties properties) {
+
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(properties.getBcryptStrength());
+        PasswordProperties.Argon2 argon2 = properties.getArgon2();
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(PasswordProperties.Algorithm.BCRYPT.id(), bcrypt);
+        encoders.put(PasswordProperties.Algorithm.ARGON2.id(), new Argon2PasswordEncoder(
+                16, 32, argon2.getParallelism(), argon2.getMemoryKb(), argon2.getIterations()));
+        encoders.put(PasswordProperties.Algorithm.PBKDF2.id(), new Pbkdf2PasswordEncoder(
+                "", 16, properties.getPbkdf2().getIterations(),
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+
+        DelegatingPasswordEncoder delegating =
+                new DelegatingPasswordEncoder(properties.getEncoder().id(), encoders);
+
+        // Hashes created before {id} prefixes were introduced are plain BCrypt.
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+}
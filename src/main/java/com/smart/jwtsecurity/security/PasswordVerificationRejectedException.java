@@ -0,0 +1,16 @@
+package com.smart.jwtsecurity.security;
+
+/**
+ * Thrown when the password verification pool and its queue are full.
+ *
+ * Deliberately NOT an AuthenticationException: the caller did not fail to
+ * authenticate, the service shed load. Mapped to 503 by AuthController.
+ */
+public class PasswordVerificationRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordVerificationRejectedException() {
+        super("Password verification capacity exhausted", null, false, false);
+    }
+}
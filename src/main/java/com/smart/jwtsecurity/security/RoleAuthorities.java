@@ -0,0 +1,90 @@
+package com.smart.jwtsecurity.security;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Shared, immutable authority lists for the closed role set in RoleConstants.
+ *
+ * Every combination of roles is precomputed once, indexed by the role
+ * bits (RoleConstants) it contains. Turning a roles claim into
+ * authorities is then a string switch per element (or nothing, for the
+ * rm bitmask claim) plus one list read; nothing is allocated and every
+ * request with the same roles gets the same List instance.
+ *
+ * Role strings outside RoleConstants are dropped, never granted.
+ */
+public final class RoleAuthorities {
+
+    private static final String[] ROLES = {
+            RoleConstants.ROLE_ADMIN,
+            RoleConstants.ROLE_USER,
+            RoleConstants.ROLE_SERVICE
+    };
+
+    private static final List<List<GrantedAuthority>> BY_MASK = precompute();
+
+    private RoleAuthorities() {}
+
+    /**
+     * Authorities for an rm claim. Unknown bits are ignored.
+     */
+    public static List<GrantedAuthority> fromMask(int mask) {
+        return BY_MASK.get(mask & RoleConstants.ALL_ROLE_BITS);
+    }
+
+    /**
+     * Bitmask of the given authorities, for the rm claim.
+     */
+    public static int mask(Collection<? extends GrantedAuthority> authorities) {
+
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            mask |= RoleConstants.bit(authority.getAuthority());
+        }
+        return mask;
+    }
+
+    /**
+     * Authorities for a roles claim as parsed from JSON: a list of role
+     * strings. Anything else (missing claim, wrong type) grants nothing.
+     */
+    public static List<GrantedAuthority> fromClaim(Object claim) {
+
+        if (!(claim instanceof Collection<?> roles)) {
+            return BY_MASK.get(0);
+        }
+
+        int mask = 0;
+        for (Object role : roles) {
+            if (role instanceof String name) {
+                mask |= RoleConstants.bit(name);
+            }
+        }
+        return BY_MASK.get(mask);
+    }
+
+    private static List<List<GrantedAuthority>> precompute() {
+
+        GrantedAuthority[] authorities = new GrantedAuthority[ROLES.length];
+        for (int i = 0; i < ROLES.length; i++) {
+            authorities[i] = new SimpleGrantedAuthority(ROLES[i]);
+        }
+
+        List<List<GrantedAuthority>> byMask = new ArrayList<>(RoleConstants.ALL_ROLE_BITS + 1);
+        for (int mask = 0; mask <= RoleConstants.ALL_ROLE_BITS; mask++) {
+            List<GrantedAuthority> list = new ArrayList<>(ROLES.length);
+            for (int i = 0; i < ROLES.length; i++) {
+                if ((mask & RoleConstants.bit(ROLES[i])) != 0) {
+                    list.add(authorities[i]);
+                }
+            }
+            byMask.add(List.copyOf(list));
+        }
+        return List.copyOf(byMask);
+    }
+}
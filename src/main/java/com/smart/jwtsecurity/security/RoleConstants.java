@@ -13,10 +13,37 @@ public final class RoleConstants {
     public static final String ROLE_ADMIN = "ROLE_ADMIN";
     public static final String ROLE_USER  = "ROLE_USER";
 
+    /**
+     * Gateways and internal services (token introspection).
+     */
+    public static final String ROLE_SERVICE = "ROLE_SERVICE";
+
+    /**
+     * Stable bit per role, used by the compact rm token claim.
+     * Tokens in flight carry these: never renumber or reuse a bit.
+     */
+    public static final int ROLE_ADMIN_BIT = 1;
+    public static final int ROLE_USER_BIT  = 1 << 1;
+    public static final int ROLE_SERVICE_BIT = 1 << 2;
+
+    public static final int ALL_ROLE_BITS = ROLE_ADMIN_BIT | ROLE_USER_BIT | ROLE_SERVICE_BIT;
+
+    /**
+     * Bit of a known role, 0 for anything else.
+     */
+    public static int bit(String role) {
+        return switch (role) {
+            case ROLE_ADMIN -> ROLE_ADMIN_BIT;
+            case ROLE_USER -> ROLE_USER_BIT;
+            case ROLE_SERVICE -> ROLE_SERVICE_BIT;
+            default -> 0;
+        };
+    }
+
     /**
      * Optional: validate role correctness
      */
     public static boolean isValid(String role) {
-        return ROLE_ADMIN.equals(role) || ROLE_USER.equals(role);
+        return ROLE_ADMIN.equals(role) || ROLE_USER.equals(role) || ROLE_SERVICE.equals(role);
     }
 }
@@ -6,16 +6,20 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.smart.jwtsecurity.audit.AuthAuditLog;
+import com.smart.jwtsecurity.config.PasswordProperties;
 import com.smart.jwtsecurity.filter.JwtAuthorizationFilter;
 import com.smart.jwtsecurity.filter.LoginRateLimitFilter;
-import com.smart.jwtsecurity.util.JwtUtil;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.token.TokenDenylist;
+import com.smart.jwtsecurity.token.TokenVersions;
+import com.smart.jwtsecurity.util.VerifiedTokenCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,10 +27,14 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class SecurityConfig {
 
-	private final JwtUtil jwtUtil;
+	private final VerifiedTokenCache verifiedTokenCache;
+	private final TokenDenylist tokenDenylist;
+	private final TokenVersions tokenVersions;
 	private final AuthenticationEntryPoint jwtAuthenticationEntryPoint;
 	private final AccessDeniedHandler jwtAccessDeniedHandler;
 	private final LoginRateLimitFilter loginRateLimitFilter;
+	private final AuthMetrics authMetrics;
+	private final AuthAuditLog authAuditLog;
 
 	@Bean
 	SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -49,12 +57,16 @@ public class SecurityConfig {
 				.authorizeHttpRequests(auth -> auth
 						.requestMatchers(
 								"/login",
+								"/token/refresh",
+								"/.well-known/jwks.json",
+								"/actuator/health",
 								"/v3/api-docs/**",
 								"/swagger-ui/**",
 								"/swagger-ui.html"
 						).permitAll()
 
-						.requestMatchers("/admin/**").hasRole("ADMIN")
+						.requestMatchers("/admin/**", "/actuator/**").hasRole("ADMIN")
+						.requestMatchers("/token/introspect").hasRole("SERVICE")
 						.anyRequest().authenticated()
 				)
 
@@ -90,7 +102,7 @@ public class SecurityConfig {
 		// 🔑 JWT Authorization Filter
 		// =========================
 		http.addFilterBefore(
-				new JwtAuthorizationFilter(jwtUtil),
+				new JwtAuthorizationFilter(verifiedTokenCache, tokenDenylist, tokenVersions, authMetrics, authAuditLog),
 				UsernamePasswordAuthenticationFilter.class
 		);
 
@@ -98,20 +110,30 @@ public class SecurityConfig {
 	}
 
 	// =========================
-	// 🔐 BCrypt Password Encoder
+	// 🔐 Delegating Password Encoder
+	// ({id}-prefixed hashes, rehashed on login;
+	// verified on a bounded pool, sheds load when full)
 	// =========================
 	@Bean
-	PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	PasswordEncoder passwordEncoder(PasswordProperties properties) {
+		PasswordEncoder encoder = authMetrics.timed(PasswordEncoders.delegating(properties));
+		return properties.isOffload()
+				? new OffloadingPasswordEncoder(encoder, properties.getThreads(), properties.getQueueCapacity())
+				: encoder;
 	}
 
 	// =========================
 	// 🔑 AuthenticationManager
+	// (concurrent identical logins share one lookup + hash)
 	// =========================
 	@Bean
 	AuthenticationManager authenticationManager(
-			AuthenticationConfiguration configuration
+			AuthenticationConfiguration configuration,
+			PasswordProperties properties
 	) throws Exception {
-		return configuration.getAuthenticationManager();
+		AuthenticationManager manager = configuration.getAuthenticationManager();
+		return properties.isCoalesce()
+				? new CoalescingAuthenticationManager(manager)
+				: manager;
 	}
 }
@@ -0,0 +1,75 @@
+package com.smart.jwtsecurity.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Authentication rebuilt from a verified access token.
+ *
+ * Unlike UsernamePasswordAuthenticationToken it does not copy the
+ * authorities, so the shared lists from RoleAuthorities are used as is
+ * and populating the SecurityContext allocates one small object.
+ *
+ * Like UsernamePasswordAuthenticationToken it can be marked untrusted
+ * (setAuthenticated(false)), but never trusted again.
+ */
+public final class TokenAuthentication implements Authentication {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String username;
+    private final List<GrantedAuthority> authorities;
+    private volatile boolean authenticated = true;
+
+    public TokenAuthentication(String username, List<GrantedAuthority> authorities) {
+        this.username = username;
+        this.authorities = authorities;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return username;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        if (authenticated) {
+            throw new IllegalArgumentException("Cannot mark a token authentication as trusted");
+        }
+        this.authenticated = false;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenAuthentication [username=" + username + ", authorities=" + authorities
+                + ", authenticated=" + authenticated + "]";
+    }
+}
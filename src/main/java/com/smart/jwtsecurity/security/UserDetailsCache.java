@@ -0,0 +1,92 @@
+package com.smart.jwtsecurity.security;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Function;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.smart.jwtsecurity.config.UserCacheProperties;
+import com.smart.jwtsecurity.domain.event.UserChangedEvent;
+
+/**
+ * Bounded, TTL-based cache of loaded users.
+ *
+ * Keyed by the login identifier (username OR email), lower-cased to match
+ * the case-insensitive unique indexes. Entries are dropped after commit
+ * whenever a UserChangedEvent is published.
+ *
+ * Cached instances are never handed out directly: callers get a copy,
+ * because ProviderManager erases credentials on the returned principal.
+ */
+@Component
+public class UserDetailsCache {
+
+    /**
+     * Null when caching is disabled.
+     */
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(UserCacheProperties properties) {
+        this.cache = properties.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.getMaximumSize())
+                        .expireAfterWrite(Duration.ofMillis(properties.getTtlMs()))
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Returns a copy of the cached user, loading it on a miss.
+     * Loader exceptions (e.g. UsernameNotFoundException) propagate and
+     * are not cached.
+     */
+    public UserDetails get(String identifier, Function<String, UserDetails> loader) {
+
+        UserDetails user = cache == null
+                ? loader.apply(identifier)
+                : cache.get(key(identifier), k -> loader.apply(identifier));
+
+        return org.springframework.security.core.userdetails.User
+                .withUserDetails(user)
+                .build();
+    }
+
+    public void evict(String username, String email) {
+        if (cache == null) {
+            return;
+        }
+        if (username != null) {
+            cache.invalidate(key(username));
+        }
+        if (email != null) {
+            cache.invalidate(key(email));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.username(), event.email());
+    }
+
+    /**
+     * Hit / miss / eviction counters. Empty when caching is disabled.
+     */
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    private static String key(String identifier) {
+        return identifier.toLowerCase(Locale.ROOT);
+    }
+}
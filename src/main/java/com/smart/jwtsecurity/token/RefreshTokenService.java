@@ -0,0 +1,189 @@
+package com.smart.jwtsecurity.token;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.smart.jwtsecurity.config.JwtProperties;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Opaque refresh tokens with rotation and reuse detection.
+ *
+ * - A token is 256 random bits; only its HMAC-SHA256 is stored
+ * - Each login starts a family; each refresh consumes the presented
+ *   token and issues the next one in the same family
+ * - Presenting an already-consumed token means it leaked (or a client
+ *   raced itself): the whole family is revoked
+ *
+ * A refresh costs one indexed lookup, an HMAC and a user load from
+ * UserDetailsCache — no password hashing.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+    private static final int ENCODED_LENGTH = 43;
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64URL_DECODER = Base64.getUrlDecoder();
+
+    /**
+     * Next access/refresh pair after a successful refresh.
+     */
+    public record Rotation(UserDetails user, String refreshToken) {
+    }
+
+    private final RefreshTokenStore store;
+    private final UserDetailsService userDetailsService;
+    private final long ttlMs;
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * Mac is not thread-safe, so each thread keeps its own initialized instance.
+     */
+    private final ThreadLocal<Mac> hmac;
+
+    public RefreshTokenService(
+            RefreshTokenStore store,
+            UserDetailsService userDetailsService,
+            JwtProperties properties
+    ) {
+        this.store = store;
+        this.userDetailsService = userDetailsService;
+        this.ttlMs = properties.getRefresh().getTtlMs();
+
+        // Derived from the JWT secret, so the hash key is never used to sign tokens.
+        SecretKeySpec macKey = new SecretKeySpec(
+                newMac(new SecretKeySpec(
+                        properties.getSecret().getBytes(StandardCharsets.UTF_8), HMAC_SHA256))
+                        .doFinal("refresh-token".getBytes(StandardCharsets.US_ASCII)),
+                HMAC_SHA256
+        );
+        this.hmac = ThreadLocal.withInitial(() -> newMac(macKey));
+    }
+
+    /**
+     * Starts a new family for a freshly authenticated user.
+     */
+    @Transactional
+    public String issue(UserDetails user) {
+        return next(UUID.randomUUID().toString(), user.getUsername());
+    }
+
+    /**
+     * Consumes the presented token and returns the next one.
+     * Throws BadCredentialsException if it is unknown, expired or reused.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public Rotation rotate(String token) {
+
+        byte[] hash = hash(token);
+        if (hash == null) {
+            throw invalid();
+        }
+
+        RefreshTokenStore.StoredToken stored = store.find(hash);
+        if (stored == null || stored.expiresAt() <= System.currentTimeMillis()) {
+            throw invalid();
+        }
+
+        if (stored.used() || !store.markUsed(hash)) {
+            revoke(stored, "reuse detected");
+            throw invalid();
+        }
+
+        UserDetails user;
+        try {
+            user = userDetailsService.loadUserByUsername(stored.username());
+        } catch (UsernameNotFoundException ex) {
+            throw invalid();
+        }
+
+        if (!user.isEnabled() || !user.isAccountNonLocked()) {
+            revoke(stored, "account disabled");
+            throw invalid();
+        }
+
+        return new Rotation(user, next(stored.familyId(), user.getUsername()));
+    }
+
+    /**
+     * Deletes every refresh token of the user (all families).
+     */
+    @Transactional
+    public void revokeAll(String username) {
+
+        int revoked = store.deleteByUsername(username);
+        log.info("REFRESH REVOKED: all families | user={} | tokens={}", username, revoked);
+    }
+
+    private String next(String familyId, String username) {
+
+        byte[] raw = new byte[TOKEN_BYTES];
+        random.nextBytes(raw);
+        String token = BASE64URL.encodeToString(raw);
+
+        if (!store.insert(hash(token), familyId, username, System.currentTimeMillis() + ttlMs)) {
+            throw invalid();
+        }
+        return token;
+    }
+
+    private void revoke(RefreshTokenStore.StoredToken stored, String reason) {
+
+        int revoked = store.deleteFamily(stored.familyId());
+        log.warn(
+            "REFRESH REVOKED: {} | user={} | family={} | tokens={}",
+            reason,
+            stored.username(),
+            stored.familyId(),
+            revoked
+        );
+    }
+
+    /**
+     * Null if the input cannot be one of our tokens, so garbage never
+     * reaches the database.
+     */
+    private byte[] hash(String token) {
+
+        if (token.length() != ENCODED_LENGTH) {
+            return null;
+        }
+        try {
+            return hmac.get().doFinal(BASE64URL_DECODER.decode(token));
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static BadCredentialsException invalid() {
+        return new BadCredentialsException("Invalid refresh token");
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 not available", ex);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.smart.jwtsecurity.token;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.smart.jwtsecurity.config.JwtProperties;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JDBC access to the refresh_tokens table.
+ *
+ * Every statement is a primary-key or single-index access; the hot path
+ * (lookup on refresh) is one PK read joined to users by PK.
+ * Expired rows are purged in the background with small LIMITed deletes.
+ */
+@Slf4j
+@Component
+public class RefreshTokenStore {
+
+    private static final String INSERT = """
+            INSERT INTO refresh_tokens (token_hash, family_id, user_id, expires_at, used)
+            SELECT ?, ?, id, ?, FALSE FROM users WHERE username = ?
+            """;
+
+    private static final String FIND = """
+            SELECT t.family_id, t.expires_at, t.used, u.username
+            FROM refresh_tokens t JOIN users u ON u.id = t.user_id
+            WHERE t.token_hash = ?
+            """;
+
+    private static final String MARK_USED =
+            "UPDATE refresh_tokens SET used = TRUE WHERE token_hash = ? AND used = FALSE";
+
+    private static final String DELETE_FAMILY =
+            "DELETE FROM refresh_tokens WHERE family_id = ?";
+
+    private static final String DELETE_USER =
+            "DELETE FROM refresh_tokens WHERE user_id = (SELECT id FROM users WHERE username = ?)";
+
+    private static final String PURGE =
+            "DELETE FROM refresh_tokens WHERE expires_at < ? LIMIT ?";
+
+    /**
+     * A stored token, as seen on refresh.
+     */
+    public record StoredToken(String familyId, long expiresAt, boolean used, String username) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int purgeBatchSize;
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "refresh-token-purger");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public RefreshTokenStore(JdbcTemplate jdbcTemplate, JwtProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.purgeBatchSize = properties.getRefresh().getPurgeBatchSize();
+
+        long purgeMs = properties.getRefresh().getPurgeIntervalMs();
+        scheduler.scheduleWithFixedDelay(this::purgeQuietly, purgeMs, purgeMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Returns false if the user no longer exists.
+     */
+    public boolean insert(byte[] tokenHash, String familyId, String username, long expiresAt) {
+        return jdbcTemplate.update(INSERT, tokenHash, familyId, expiresAt, username) == 1;
+    }
+
+    /**
+     * Null if the token is unknown (never issued, purged or revoked).
+     */
+    public StoredToken find(byte[] tokenHash) {
+
+        List<StoredToken> rows = jdbcTemplate.query(
+                FIND,
+                (rs, i) -> new StoredToken(
+                        rs.getString(1),
+                        rs.getLong(2),
+                        rs.getBoolean(3),
+                        rs.getString(4)
+                ),
+                (Object) tokenHash
+        );
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    /**
+     * Consumes the token. False if it was already used, so of two
+     * concurrent refreshes with the same token only one wins.
+     */
+    public boolean markUsed(byte[] tokenHash) {
+        return jdbcTemplate.update(MARK_USED, (Object) tokenHash) == 1;
+    }
+
+    public int deleteFamily(String familyId) {
+        return jdbcTemplate.update(DELETE_FAMILY, familyId);
+    }
+
+    public int deleteByUsername(String username) {
+        return jdbcTemplate.update(DELETE_USER, username);
+    }
+
+    /**
+     * Deletes expired tokens, purgeBatchSize rows at a time.
+     */
+    void purge() {
+
+        long now = System.currentTimeMillis();
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE, now, purgeBatchSize);
+        } while (deleted == purgeBatchSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void purgeQuietly() {
+        try {
+            purge();
+        } catch (DataAccessException ex) {
+            log.warn("REFRESH TOKENS: purge failed | reason={}", ex.getMessage());
+        }
+    }
+}
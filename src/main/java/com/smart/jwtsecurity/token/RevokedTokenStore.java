@@ -0,0 +1,71 @@
+package com.smart.jwtsecurity.token;
+
+import java.util.function.Consumer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * JDBC access to the revoked_tokens table, the authoritative denylist.
+ *
+ * Rows only matter until the token's own exp; after that they are
+ * ignored by every read and removed by purge.
+ */
+@Component
+public class RevokedTokenStore {
+
+    private static final String INSERT = """
+            INSERT INTO revoked_tokens (jti, expires_at, revoked_at)
+            VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE revoked_at = revoked_at
+            """;
+
+    private static final String EXISTS =
+            "SELECT COUNT(*) FROM revoked_tokens WHERE jti = ? AND expires_at > ?";
+
+    private static final String SELECT_SINCE =
+            "SELECT jti FROM revoked_tokens WHERE revoked_at >= ? AND expires_at > ?";
+
+    private static final String PURGE =
+            "DELETE FROM revoked_tokens WHERE expires_at < ? LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RevokedTokenStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(String jti, long expiresAt, long revokedAt) {
+        jdbcTemplate.update(INSERT, jti, expiresAt, revokedAt);
+    }
+
+    public boolean exists(String jti, long now) {
+        Integer count = jdbcTemplate.queryForObject(EXISTS, Integer.class, jti, now);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Streams the jti of every live revocation made at or after revokedAt
+     * (0: all of them).
+     */
+    public void forEachSince(long revokedAt, long now, Consumer<String> action) {
+        jdbcTemplate.query(
+                SELECT_SINCE,
+                (RowCallbackHandler) rs -> action.accept(rs.getString(1)),
+                revokedAt,
+                now
+        );
+    }
+
+    /**
+     * Deletes expired revocations, batchSize rows at a time.
+     */
+    public void purge(long now, int batchSize) {
+
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE, now, batchSize);
+        } while (deleted == batchSize);
+    }
+}
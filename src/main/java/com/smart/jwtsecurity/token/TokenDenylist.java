@@ -0,0 +1,159 @@
+package com.smart.jwtsecurity.token;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smart.jwtsecurity.config.JwtProperties;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revoked access tokens, by jti.
+ *
+ * - revoked_tokens (RevokedTokenStore) is authoritative and shared
+ * - A local Bloom filter answers "definitely not revoked" for almost
+ *   every request without I/O or locks
+ * - Only a filter hit goes to the store; answers are cached briefly
+ *
+ * The filter is fed incrementally (new rows every poll interval, with
+ * overlap for clock skew) and rebuilt from live rows every rebuild
+ * interval, so revocations age out once the token would have expired.
+ */
+@Slf4j
+@Component
+public class TokenDenylist {
+
+    /**
+     * Each poll re-reads this far back, so rows written by nodes with
+     * slightly skewed clocks or slow commits are not missed.
+     */
+    private static final long POLL_OVERLAP_MS = 5_000;
+
+    private final RevokedTokenStore store;
+    private final JwtProperties.Revocation settings;
+
+    private volatile BloomFilter filter;
+
+    /**
+     * Store answers for filter hits, so a false positive costs one query,
+     * not one per request. Invalidated when a poll sees the jti.
+     */
+    private final Cache<String, Boolean> confirmed;
+
+    private volatile long lastPoll;
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "token-denylist");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public TokenDenylist(RevokedTokenStore store, JwtProperties properties) {
+        this.store = store;
+        this.settings = properties.getRevocation();
+        this.filter = new BloomFilter(settings.getExpectedInsertions(), settings.getFalsePositiveRate());
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(settings.getRebuildIntervalMs()))
+                .build();
+
+        rebuildQuietly();
+
+        long pollMs = settings.getPollIntervalMs();
+        long rebuildMs = settings.getRebuildIntervalMs();
+        scheduler.scheduleWithFixedDelay(this::pollQuietly, pollMs, pollMs, TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::rebuildQuietly, rebuildMs, rebuildMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Null jti (tokens issued before jti existed) is never revoked.
+     */
+    public boolean isRevoked(String jti) {
+
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        return confirmed.get(jti, key -> store.exists(key, System.currentTimeMillis()));
+    }
+
+    /**
+     * Revokes a token until its exp. Effective on this node immediately,
+     * on other nodes within one poll interval.
+     */
+    public void revoke(String jti, long expiresAtMillis) {
+
+        store.insert(jti, expiresAtMillis, System.currentTimeMillis());
+        filter.put(jti);
+        confirmed.put(jti, Boolean.TRUE);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Adds revocations made since the previous poll.
+     */
+    void poll() {
+
+        long now = System.currentTimeMillis();
+        BloomFilter current = filter;
+
+        store.forEachSince(lastPoll - POLL_OVERLAP_MS, now, jti -> {
+            current.put(jti);
+            confirmed.invalidate(jti);
+        });
+        lastPoll = now;
+    }
+
+    /**
+     * Replaces the filter with one holding only live revocations, sized
+     * for at least twice their number.
+     */
+    void rebuild() {
+
+        long now = System.currentTimeMillis();
+        List<String> live = new ArrayList<>();
+        store.forEachSince(0, now, live::add);
+
+        long expected = Math.max(settings.getExpectedInsertions(), 2L * live.size());
+        BloomFilter fresh = new BloomFilter(expected, settings.getFalsePositiveRate());
+        live.forEach(fresh::put);
+
+        // Revocations committed while the snapshot was read are picked up
+        // by the next poll, which reaches back past this point.
+        filter = fresh;
+        lastPoll = now;
+        confirmed.invalidateAll();
+
+        store.purge(now, settings.getPurgeBatchSize());
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (DataAccessException ex) {
+            log.warn("DENYLIST: poll failed | reason={}", ex.getMessage());
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (DataAccessException ex) {
+            log.warn("DENYLIST: rebuild failed | reason={}", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.smart.jwtsecurity.token;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import com.smart.jwtsecurity.config.IntrospectionProperties;
+import com.smart.jwtsecurity.util.JsonStrings;
+import com.smart.jwtsecurity.util.TokenValidation;
+import com.smart.jwtsecurity.util.VerifiedToken;
+import com.smart.jwtsecurity.util.VerifiedTokenCache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Batch introspection of access tokens (RFC 7662 style).
+ *
+ * A token is active when it verifies (through VerifiedTokenCache, so
+ * cached verifications are reused), is not revoked and carries the
+ * user's current token version — the same rules JwtAuthorizationFilter
+ * applies.
+ *
+ * Output: {"results":[...]} with one entry per input token, in input
+ * order. Chunks are verified in parallel and each is written and flushed
+ * as soon as it and all chunks before it are done.
+ *
+ * A chunk that cannot be checked (e.g. the denylist lookup fails) is
+ * answered with {"active":false} for each of its tokens, so the response
+ * stays complete and fails closed. When the pool queue is full the caller
+ * verifies the chunk itself; once the pool is shut down, new chunks fail
+ * instead of waiting forever.
+ */
+@Slf4j
+@Component
+public class TokenIntrospector {
+
+    private static final byte[] OPEN = "{\"results\":[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLOSE = "]}".getBytes(StandardCharsets.US_ASCII);
+    private static final String INACTIVE = "{\"active\":false}";
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenDenylist tokenDenylist;
+    private final TokenVersions tokenVersions;
+    private final int chunkSize;
+    private final ThreadPoolExecutor pool;
+
+    public TokenIntrospector(
+            VerifiedTokenCache verifiedTokenCache,
+            TokenDenylist tokenDenylist,
+            TokenVersions tokenVersions,
+            IntrospectionProperties properties
+    ) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenDenylist = tokenDenylist;
+        this.tokenVersions = tokenVersions;
+        this.chunkSize = properties.getChunkSize();
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, "token-introspect-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (task, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Introspection pool is shut down");
+                    }
+                    task.run();
+                }
+        );
+    }
+
+    public void introspect(List<String> tokens, OutputStream out) throws IOException {
+
+        List<CompletableFuture<byte[]>> chunks = new ArrayList<>();
+        for (int from = 0; from < tokens.size(); from += chunkSize) {
+            List<String> chunk = tokens.subList(from, Math.min(from + chunkSize, tokens.size()));
+            boolean first = from == 0;
+
+            CompletableFuture<byte[]> rendered;
+            try {
+                rendered = CompletableFuture.supplyAsync(() -> render(chunk, first), pool);
+            } catch (RejectedExecutionException ex) {
+                rendered = CompletableFuture.failedFuture(ex);
+            }
+            chunks.add(rendered.exceptionally(ex -> inactive(chunk.size(), first, ex)));
+        }
+
+        out.write(OPEN);
+        for (CompletableFuture<byte[]> chunk : chunks) {
+            out.write(chunk.join());
+            out.flush();
+        }
+        out.write(CLOSE);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    private byte[] render(List<String> chunk, boolean first) {
+
+        StringBuilder json = new StringBuilder(chunk.size() * 96);
+        for (int i = 0; i < chunk.size(); i++) {
+            if (i > 0 || !first) {
+                json.append(',');
+            }
+            append(json, chunk.get(i));
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] inactive(int tokens, boolean first, Throwable cause) {
+
+        Throwable reason = cause instanceof CompletionException && cause.getCause() != null
+                ? cause.getCause()
+                : cause;
+        log.warn("INTROSPECTION: chunk of {} tokens could not be checked, reported inactive | reason={}",
+                tokens, reason.getMessage());
+
+        StringBuilder json = new StringBuilder(tokens * (INACTIVE.length() + 1));
+        for (int i = 0; i < tokens; i++) {
+            if (i > 0 || !first) {
+                json.append(',');
+            }
+            json.append(INACTIVE);
+        }
+        return json.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private void append(StringBuilder json, String token) {
+
+        VerifiedToken verified = verify(token);
+        if (verified == null) {
+            json.append(INACTIVE);
+            return;
+        }
+
+        json.append("{\"active\":true,\"sub\":");
+        JsonStrings.append(json, verified.subject());
+        if (verified.jti() != null) {
+            json.append(",\"jti\":");
+            JsonStrings.append(json, verified.jti());
+        }
+        json.append(",\"exp\":").append(verified.expiresAtMillis() / 1000)
+                .append(",\"roles\":[");
+        boolean firstRole = true;
+        for (GrantedAuthority authority : verified.authorities()) {
+            if (!firstRole) {
+                json.append(',');
+            }
+            JsonStrings.append(json, authority.getAuthority());
+            firstRole = false;
+        }
+        json.append("]}");
+    }
+
+    /**
+     * Null for anything that would not authenticate a request.
+     */
+    private VerifiedToken verify(String token) {
+
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+
+        TokenValidation result = verifiedTokenCache.validate(token);
+        if (!result.isValid()) {
+            return null;
+        }
+        VerifiedToken verified = result.token();
+
+        if (verified.expiresAtMillis() <= System.currentTimeMillis()
+                || tokenDenylist.isRevoked(verified.jti())
+                || !tokenVersions.isCurrent(verified.subject(), verified.tokenVersion())) {
+            return null;
+        }
+        return verified;
+    }
+}
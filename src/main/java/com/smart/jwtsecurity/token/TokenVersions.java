@@ -0,0 +1,133 @@
+package com.smart.jwtsecurity.token;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import com.smart.jwtsecurity.config.JwtProperties;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Current token version per user (users.token_version), kept in memory.
+ *
+ * - Access tokens carry the version they were issued under (ver claim)
+ * - Incrementing it rejects every older token of that user at once:
+ *   log out everywhere, account disabled, roles downgraded
+ * - Only users whose version was ever incremented are held; everyone
+ *   else is at version 0
+ *
+ * Checks never touch the database. Changes made on this node apply
+ * immediately; changes from other nodes arrive by polling
+ * token_version_at every jwt.token-version.poll-interval-ms.
+ */
+@Slf4j
+@Component
+public class TokenVersions {
+
+    private static final String INCREMENT = """
+            UPDATE users SET token_version = token_version + 1, token_version_at = ?
+            WHERE username = ?
+            """;
+
+    private static final String SELECT_ONE =
+            "SELECT token_version FROM users WHERE username = ?";
+
+    private static final String SELECT_SINCE =
+            "SELECT username, token_version FROM users WHERE token_version_at >= ?";
+
+    /**
+     * Each poll re-reads this far back, so changes committed by nodes
+     * with slightly skewed clocks or slow transactions are not missed.
+     */
+    private static final long POLL_OVERLAP_MS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+
+    /**
+     * 1 on the first poll: every user whose version was ever incremented.
+     */
+    private volatile long lastPoll = 1 + POLL_OVERLAP_MS;
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "token-versions");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    public TokenVersions(JdbcTemplate jdbcTemplate, JwtProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        pollQuietly();
+
+        long pollMs = properties.getTokenVersion().getPollIntervalMs();
+        scheduler.scheduleWithFixedDelay(this::pollQuietly, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Version new tokens for this user are issued under.
+     */
+    public int current(String username) {
+        return versions.getOrDefault(username, 0);
+    }
+
+    /**
+     * False if the user's tokens were invalidated after this one was issued.
+     */
+    public boolean isCurrent(String username, int version) {
+        return version >= current(username);
+    }
+
+    /**
+     * Rejects every access token issued to the user so far.
+     */
+    public void invalidate(String username) {
+
+        if (jdbcTemplate.update(INCREMENT, System.currentTimeMillis(), username) == 0) {
+            return;
+        }
+        Integer version = jdbcTemplate.queryForObject(SELECT_ONE, Integer.class, username);
+        if (version != null) {
+            versions.merge(username, version, Math::max);
+        }
+        log.info("TOKENS INVALIDATED | user={} | version={}", username, version);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Pulls version changes made since the previous poll.
+     */
+    void poll() {
+
+        long now = System.currentTimeMillis();
+
+        jdbcTemplate.query(
+                SELECT_SINCE,
+                (RowCallbackHandler) rs -> versions.merge(rs.getString(1), rs.getInt(2), Math::max),
+                lastPoll - POLL_OVERLAP_MS
+        );
+        lastPoll = now;
+    }
+
+    private void pollQuietly() {
+        try {
+            poll();
+        } catch (DataAccessException ex) {
+            log.warn("TOKEN VERSIONS: poll failed | reason={}", ex.getMessage());
+        }
+    }
+}
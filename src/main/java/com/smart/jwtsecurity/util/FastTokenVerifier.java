@@ -0,0 +1,347 @@
+package com.smart.jwtsecurity.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+
+import com.smart.jwtsecurity.security.RoleAuthorities;
+import com.smart.jwtsecurity.security.RoleConstants;
+import com.smart.jwtsecurity.util.TokenValidation.Outcome;
+
+/**
+ * Specialized verifier for the HS256 tokens JwtUtil issues itself.
+ *
+ * - Header segment compared as a string against the one constant we emit
+ * - HMAC with the thread-local Mac, constant-time signature compare
+ * - Payload read by a small single-pass parser straight into VerifiedToken
+ *   (no header JSON, no claims Map, no Date)
+ *
+ * Rejections never throw: anything that is not three segments, a bad
+ * signature, an expired token or a wrong issuer comes back as a failed
+ * TokenValidation, with the same outcome JJWT would report. Checks run in
+ * JJWT's order (claims, signature, expiry, issuer), so a token that fails
+ * several of them is reported the same way by both.
+ *
+ * Anything it does not recognize returns null and the caller falls back
+ * to the full JJWT parser: kid headers, unknown claims or value types,
+ * escapes it does not handle, base64 JJWT's lenient decoder would still
+ * read, a payload that is not a bare JSON object, no signature,
+ * non-ASCII characters.
+ * FastTokenVerifierTest checks both paths agree.
+ */
+final class FastTokenVerifier {
+
+    private static final Base64.Decoder BASE64URL = Base64.getUrlDecoder();
+
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private final JwtUtil jwtUtil;
+    private final String issuer;
+
+    FastTokenVerifier(JwtUtil jwtUtil) {
+        this.jwtUtil = jwtUtil;
+        this.issuer = jwtUtil.issuer();
+    }
+
+    /**
+     * Validation result, or null to fall back to JJWT.
+     */
+    TokenValidation verify(String token) {
+
+        // Not a compact JWS: no parser would accept it, whatever the header.
+        int first = token.indexOf('.');
+        int dot = first < 0 ? -1 : token.indexOf('.', first + 1);
+        if (dot < 0 || token.indexOf('.', dot + 1) >= 0) {
+            return TokenValidation.failed(Outcome.MALFORMED);
+        }
+
+        String header = JwtUtil.HEADER_SEGMENT;
+        if (!token.startsWith(header) || dot == token.length() - 1) {
+            return null;
+        }
+
+        // Dots were found by char index; they only line up with the bytes
+        // below if every char is one ASCII byte.
+        for (int i = header.length(); i < token.length(); i++) {
+            if (token.charAt(i) > 0x7F) {
+                return null;
+            }
+        }
+
+        byte[] bytes = token.getBytes(StandardCharsets.US_ASCII);
+        byte[] signature;
+        String json;
+        try {
+            signature = decode(bytes, dot + 1, bytes.length);
+            json = new String(decode(bytes, header.length(), dot), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+
+        // JJWT only reads claims from {...} with nothing around it, and
+        // reads them before it looks at the signature.
+        if (json.isEmpty() || json.charAt(0) != '{' || json.charAt(json.length() - 1) != '}') {
+            return null;
+        }
+        TokenValidation claims = new PayloadReader(json).read(issuer);
+        if (claims == null) {
+            return null;
+        }
+
+        if (!jwtUtil.acceptsHmac() || signature.length != SIGNATURE_LENGTH) {
+            return TokenValidation.failed(Outcome.BAD_SIGNATURE);
+        }
+        Mac mac = jwtUtil.hmac();
+        mac.update(bytes, 0, dot);
+        if (!MessageDigest.isEqual(mac.doFinal(), signature)) {
+            return TokenValidation.failed(Outcome.BAD_SIGNATURE);
+        }
+
+        return claims;
+    }
+
+    private static byte[] decode(byte[] bytes, int from, int to) {
+
+        ByteBuffer decoded = BASE64URL.decode(ByteBuffer.wrap(bytes, from, to - from));
+        return decoded.remaining() == decoded.array().length
+                ? decoded.array()
+                : Arrays.copyOf(decoded.array(), decoded.remaining());
+    }
+
+    /**
+     * Reads one flat JSON object with the claims JwtUtil writes.
+     * Every method returns a sentinel (null / -1 / Long.MIN_VALUE) instead
+     * of throwing, which read() turns into a fallback.
+     */
+    private static final class PayloadReader {
+
+        private static final long INVALID = Long.MIN_VALUE;
+
+        private final String json;
+        private int pos;
+
+        PayloadReader(String json) {
+            this.json = json;
+        }
+
+        TokenValidation read(String expectedIssuer) {
+
+            String sub = null;
+            String iss = null;
+            String jti = null;
+            long exp = INVALID;
+            long ver = 0;
+            int roleMask = -1;
+            int seen = 0;
+
+            if (!consume('{')) {
+                return null;
+            }
+            if (!consume('}')) {
+                do {
+                    String key = string();
+                    if (key == null || !consume(':')) {
+                        return null;
+                    }
+
+                    int bit;
+                    switch (key) {
+                        case "sub" -> { bit = 1; sub = string(); if (sub == null) return null; }
+                        case "iss" -> { bit = 1 << 1; iss = string(); if (iss == null) return null; }
+                        case "jti" -> { bit = 1 << 2; jti = string(); if (jti == null) return null; }
+                        case "iat" -> { bit = 1 << 3; if (number() == INVALID) return null; }
+                        case "exp" -> { bit = 1 << 4; exp = number(); if (exp == INVALID) return null; }
+                        case "ver" -> {
+                            bit = 1 << 5;
+                            ver = number();
+                            if (ver < Integer.MIN_VALUE || ver > Integer.MAX_VALUE) return null;
+                        }
+                        case "roles" -> { bit = 1 << 6; roleMask = roles(); if (roleMask < 0) return null; }
+                        case "rm" -> {
+                            bit = 1 << 7;
+                            long mask = number();
+                            if (mask < Integer.MIN_VALUE || mask > Integer.MAX_VALUE) return null;
+                            roleMask = (int) mask & RoleConstants.ALL_ROLE_BITS;
+                        }
+                        default -> {
+                            return null;
+                        }
+                    }
+                    if ((seen & bit) != 0) {
+                        return null;
+                    }
+                    seen |= bit;
+                } while (consume(','));
+
+                if (!consume('}')) {
+                    return null;
+                }
+            }
+            skipWhitespace();
+            if (pos != json.length()) {
+                return null;
+            }
+
+            // Both role formats at once or missing sub/exp: let JJWT decide.
+            if ((seen & (1 << 6 | 1 << 7)) == (1 << 6 | 1 << 7)
+                    || sub == null
+                    || exp == INVALID) {
+                return null;
+            }
+
+            // Same order as JJWT: expiry first, then the required issuer.
+            if (System.currentTimeMillis() > exp * 1000) {
+                return TokenValidation.failed(Outcome.EXPIRED);
+            }
+            if (!expectedIssuer.equals(iss)) {
+                return TokenValidation.failed(Outcome.WRONG_ISSUER);
+            }
+
+            return TokenValidation.valid(new VerifiedToken(
+                    sub,
+                    jti,
+                    (int) ver,
+                    RoleAuthorities.fromMask(Math.max(roleMask, 0)),
+                    exp * 1000
+            ));
+        }
+
+        /**
+         * Role bits of a string array, -1 if it is not one.
+         */
+        private int roles() {
+
+            if (!consume('[')) {
+                return -1;
+            }
+            int mask = 0;
+            if (consume(']')) {
+                return mask;
+            }
+            do {
+                String role = string();
+                if (role == null) {
+                    return -1;
+                }
+                mask |= RoleConstants.bit(role);
+            } while (consume(','));
+
+            return consume(']') ? mask : -1;
+        }
+
+        /**
+         * Non-negative integer without sign, fraction or exponent.
+         */
+        private long number() {
+
+            skipWhitespace();
+            int start = pos;
+            long value = 0;
+            while (pos < json.length()) {
+                char c = json.charAt(pos);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                if (value > (Long.MAX_VALUE - 9) / 10) {
+                    return INVALID;
+                }
+                value = value * 10 + (c - '0');
+                pos++;
+            }
+            if (pos == start || (pos - start > 1 && json.charAt(start) == '0')) {
+                return INVALID;
+            }
+            if (pos < json.length() && (json.charAt(pos) == '.' || json.charAt(pos) == 'e' || json.charAt(pos) == 'E')) {
+                return INVALID;
+            }
+            return value;
+        }
+
+        /**
+         * String with the escapes JwtUtil produces; anything else is null.
+         */
+        private String string() {
+
+            if (!consume('"')) {
+                return null;
+            }
+            int start = pos;
+            StringBuilder escaped = null;
+
+            while (pos < json.length()) {
+                char c = json.charAt(pos);
+                if (c == '"') {
+                    String value = escaped == null
+                            ? json.substring(start, pos)
+                            : escaped.append(json, start, pos).toString();
+                    pos++;
+                    return value;
+                }
+                if (c < 0x20) {
+                    return null;
+                }
+                if (c == '\\') {
+                    if (pos + 1 >= json.length()) {
+                        return null;
+                    }
+                    if (escaped == null) {
+                        escaped = new StringBuilder();
+                    }
+                    escaped.append(json, start, pos);
+                    char next = json.charAt(pos + 1);
+                    switch (next) {
+                        case '"', '\\', '/' -> {
+                            escaped.append(next);
+                            pos += 2;
+                        }
+                        case 'u' -> {
+                            if (pos + 6 > json.length()) {
+                                return null;
+                            }
+                            int code = 0;
+                            for (int i = pos + 2; i < pos + 6; i++) {
+                                int digit = Character.digit(json.charAt(i), 16);
+                                if (digit < 0) {
+                                    return null;
+                                }
+                                code = code * 16 + digit;
+                            }
+                            escaped.append((char) code);
+                            pos += 6;
+                        }
+                        default -> {
+                            return null;
+                        }
+                    }
+                    start = pos;
+                    continue;
+                }
+                pos++;
+            }
+            return null;
+        }
+
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (pos < json.length() && json.charAt(pos) == expected) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length()) {
+                char c = json.charAt(pos);
+                if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                    return;
+                }
+                pos++;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.smart.jwtsecurity.util;
+
+/**
+ * Minimal JSON string encoder for the hand-written JSON in this service
+ * (token payloads, introspection results).
+ */
+public final class JsonStrings {
+
+    private JsonStrings() {}
+
+    /**
+     * Appends value as a quoted JSON string.
+     */
+    public static void append(StringBuilder out, String value) {
+
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
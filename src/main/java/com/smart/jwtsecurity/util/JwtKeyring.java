@@ -0,0 +1,298 @@
+package com.smart.jwtsecurity.util;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.smart.jwtsecurity.config.JwtProperties;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+/**
+ * Asymmetric signing keys, loaded once from jwt.signing.*.
+ *
+ * - Several keys may be present at once during rotation; tokens name
+ *   theirs with the kid header
+ * - One of them (active-kid) signs new tokens
+ * - The public halves are pre-serialized as a JWKS document, so
+ *   /.well-known/jwks.json is served from a fixed byte[]
+ *
+ * Misconfiguration fails fast at startup, including a key that does not
+ * fit its algorithm (EC curve other than the one the algorithm names, RSA
+ * modulus under 2048 bits).
+ */
+@Component
+public class JwtKeyring {
+
+    private static final Base64.Encoder BASE64URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final int MIN_RSA_BITS = 2048;
+
+    private static final Map<String, ECParameterSpec> CURVES = curves();
+
+    /**
+     * One key of the ring. privateKey is null for verify-only keys.
+     */
+    public record Entry(
+            String kid,
+            SignatureAlgorithm algorithm,
+            PublicKey publicKey,
+            PrivateKey privateKey
+    ) {
+    }
+
+    private final Map<String, Entry> entries;
+
+    /**
+     * Null when tokens are signed with the HMAC secret.
+     */
+    private final Entry active;
+
+    private final boolean acceptHmac;
+    private final byte[] jwks;
+    private final String jwksEtag;
+
+    public JwtKeyring(JwtProperties properties) {
+
+        JwtProperties.Signing signing = properties.getSigning();
+
+        Map<String, Entry> loaded = new LinkedHashMap<>();
+        for (JwtProperties.SigningKey key : signing.getKeys()) {
+            if (loaded.put(key.getKid(), load(key)) != null) {
+                throw new IllegalStateException("Duplicate jwt.signing kid: " + key.getKid());
+            }
+        }
+        this.entries = Collections.unmodifiableMap(loaded);
+
+        if (StringUtils.hasText(signing.getActiveKid())) {
+            this.active = entries.get(signing.getActiveKid());
+            if (active == null || active.privateKey() == null) {
+                throw new IllegalStateException(
+                        "jwt.signing.active-kid must name a key with a private key: " + signing.getActiveKid());
+            }
+        } else {
+            this.active = null;
+        }
+
+        this.acceptHmac = signing.isAcceptHmac();
+        if (active == null && !acceptHmac) {
+            throw new IllegalStateException("jwt.signing.accept-hmac=false requires jwt.signing.active-kid");
+        }
+
+        this.jwks = toJwks(entries).getBytes(StandardCharsets.UTF_8);
+        this.jwksEtag = etag(jwks);
+    }
+
+    /**
+     * Key that signs new tokens, or null for HS256 with the shared secret.
+     */
+    public Entry active() {
+        return active;
+    }
+
+    /**
+     * Verification key for a kid, or null if unknown.
+     */
+    public Entry find(String kid) {
+        return entries.get(kid);
+    }
+
+    /**
+     * Whether tokens without kid (HS256, shared secret) are accepted.
+     */
+    public boolean acceptsHmac() {
+        return acceptHmac;
+    }
+
+    /**
+     * Pre-serialized JWKS document. Callers must not modify the array.
+     */
+    public byte[] jwks() {
+        return jwks;
+    }
+
+    public String jwksEtag() {
+        return jwksEtag;
+    }
+
+    private static Entry load(JwtProperties.SigningKey key) {
+
+        SignatureAlgorithm algorithm = SignatureAlgorithm.forName(key.getAlgorithm());
+        if (!algorithm.isEllipticCurve() && !algorithm.isRsa()) {
+            throw new IllegalStateException(
+                    "jwt.signing key " + key.getKid() + ": unsupported algorithm " + key.getAlgorithm());
+        }
+
+        try {
+            KeyFactory factory = KeyFactory.getInstance(algorithm.isEllipticCurve() ? "EC" : "RSA");
+
+            PublicKey publicKey = factory.generatePublic(
+                    new X509EncodedKeySpec(decode(key.getPublicKey())));
+            PrivateKey privateKey = StringUtils.hasText(key.getPrivateKey())
+                    ? factory.generatePrivate(new PKCS8EncodedKeySpec(decode(key.getPrivateKey())))
+                    : null;
+
+            check(key.getKid(), algorithm, publicKey);
+            if (privateKey != null) {
+                check(key.getKid(), algorithm, privateKey);
+            }
+
+            return new Entry(key.getKid(), algorithm, publicKey, privateKey);
+
+        } catch (GeneralSecurityException | IllegalArgumentException ex) {
+            throw new IllegalStateException("jwt.signing key " + key.getKid() + " cannot be loaded", ex);
+        }
+    }
+
+    /**
+     * The key must be usable with its algorithm: an EC key on the curve the
+     * algorithm names (the JWKS crv is written from it), an RSA key of at
+     * least 2048 bits.
+     */
+    private static void check(String kid, SignatureAlgorithm algorithm, Key key) {
+
+        if (key instanceof ECKey ec) {
+            String curve = curve(ec);
+            if (!curve.equals(curve(algorithm))) {
+                throw new IllegalStateException(
+                        "jwt.signing key " + kid + ": " + curve + " key cannot be used with " + algorithm);
+            }
+        } else if (key instanceof RSAKey rsa) {
+            if (rsa.getModulus().bitLength() < MIN_RSA_BITS) {
+                throw new IllegalStateException(
+                        "jwt.signing key " + kid + ": RSA keys need at least " + MIN_RSA_BITS + " bits");
+            }
+        }
+    }
+
+    /**
+     * Accepts plain Base64 or PEM (header/footer lines are dropped).
+     */
+    private static byte[] decode(String material) {
+        return Base64.getMimeDecoder().decode(
+                material.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", ""));
+    }
+
+    private static String toJwks(Map<String, Entry> entries) {
+
+        StringBuilder json = new StringBuilder("{\"keys\":[");
+        boolean first = true;
+
+        for (Entry entry : entries.values()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+
+            json.append("{\"kid\":\"").append(entry.kid())
+                    .append("\",\"use\":\"sig\",\"alg\":\"").append(entry.algorithm().getValue()).append('"');
+
+            if (entry.publicKey() instanceof ECPublicKey ec) {
+                int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+                json.append(",\"kty\":\"EC\",\"crv\":\"").append(curve(ec))
+                        .append("\",\"x\":\"").append(unsigned(ec.getW().getAffineX(), size))
+                        .append("\",\"y\":\"").append(unsigned(ec.getW().getAffineY(), size))
+                        .append('"');
+            } else if (entry.publicKey() instanceof RSAPublicKey rsa) {
+                json.append(",\"kty\":\"RSA\",\"n\":\"").append(unsigned(rsa.getModulus(), 0))
+                        .append("\",\"e\":\"").append(unsigned(rsa.getPublicExponent(), 0))
+                        .append('"');
+            }
+            json.append('}');
+        }
+
+        return json.append("]}").toString();
+    }
+
+    /**
+     * JWK name of the key's curve, matched on the full domain parameters
+     * (a field size alone would also match e.g. secp256k1).
+     */
+    private static String curve(ECKey key) {
+
+        ECParameterSpec params = key.getParams();
+        for (Map.Entry<String, ECParameterSpec> named : CURVES.entrySet()) {
+            ECParameterSpec spec = named.getValue();
+            if (spec.getCurve().equals(params.getCurve())
+                    && spec.getGenerator().equals(params.getGenerator())
+                    && spec.getOrder().equals(params.getOrder())) {
+                return named.getKey();
+            }
+        }
+        return "unsupported curve";
+    }
+
+    private static Map<String, ECParameterSpec> curves() {
+
+        Map<String, ECParameterSpec> curves = new LinkedHashMap<>();
+        try {
+            for (String[] curve : new String[][] {
+                    { "P-256", "secp256r1" }, { "P-384", "secp384r1" }, { "P-521", "secp521r1" } }) {
+                AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec(curve[1]));
+                curves.put(curve[0], parameters.getParameterSpec(ECParameterSpec.class));
+            }
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("NIST EC curves not available", ex);
+        }
+        return Collections.unmodifiableMap(curves);
+    }
+
+    private static String curve(SignatureAlgorithm algorithm) {
+        return switch (algorithm) {
+            case ES256 -> "P-256";
+            case ES384 -> "P-384";
+            case ES512 -> "P-521";
+            default -> throw new IllegalStateException("Not an EC algorithm: " + algorithm);
+        };
+    }
+
+    /**
+     * Base64url of the big-endian unsigned value, left-padded to size bytes
+     * (size 0: minimal length).
+     */
+    private static String unsigned(BigInteger value, int size) {
+
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (bytes.length < size) {
+            byte[] padded = new byte[size];
+            System.arraycopy(bytes, 0, padded, size - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return BASE64URL.encodeToString(bytes);
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + BASE64URL.encodeToString(Arrays.copyOf(digest, 12)) + "\"";
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
@@ -1,20 +1,33 @@
 package com.smart.jwtsecurity.util;
 
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.Key;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import com.smart.jwtsecurity.config.JwtProperties;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.security.RoleAuthorities;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 
@@ -24,18 +37,54 @@ import lombok.RequiredArgsConstructor;
  * - Token validation
  * - Claim extraction
  *
+ * Signs with the active key of the JwtKeyring (ES256/RS256, kid header)
+ * when one is configured, otherwise HS256 with the shared secret.
+ * Verification picks the key by kid, so tokens signed by any key still
+ * in the ring stay valid across a rotation.
+ *
  * Stateless, thread-safe, and production hardened.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtUtil {
 
+    private static final Base64.Encoder BASE64URL =
+            Base64.getUrlEncoder().withoutPadding();
+
+    /**
+     * Encoded {"alg":"HS256"} header plus separator.
+     * Identical for every token we issue.
+     */
+    static final String HEADER_SEGMENT =
+            BASE64URL.encodeToString(
+                    "{\"alg\":\"HS256\"}".getBytes(StandardCharsets.UTF_8)
+            ) + ".";
+
+    private static final String HMAC_SHA256 = "HmacSHA256";
+
     private final JwtProperties properties;
+    private final JwtKeyring keyring;
+    private final AuthMetrics metrics;
 
     private Key signingKey;
 
     /**
-     * Initialize signing key once at startup.
+     * Immutable and thread-safe; shared by all request threads.
+     */
+    private JwtParser parser;
+
+    /**
+     * Pre-serialized ,"iss":"..." payload fragment.
+     */
+    private String issuerClaim;
+
+    /**
+     * Mac is not thread-safe, so each thread keeps its own initialized instance.
+     */
+    private ThreadLocal<Mac> hmac;
+
+    /**
+     * Initialize signing key, parser and fixed token fragments once at startup.
      * Prevents runtime key regeneration.
      */
     @PostConstruct
@@ -43,46 +92,185 @@ public class JwtUtil {
         this.signingKey = Keys.hmacShaKeyFor(
                 properties.getSecret().getBytes(StandardCharsets.UTF_8)
         );
+
+        this.parser = Jwts.parserBuilder()
+                .requireIssuer(properties.getIssuer())
+                .setSigningKeyResolver(new KeyResolver())
+                .build();
+
+        StringBuilder iss = new StringBuilder(",\"iss\":");
+        JsonStrings.append(iss, properties.getIssuer());
+        this.issuerClaim = iss.toString();
+
+        SecretKeySpec macKey = new SecretKeySpec(signingKey.getEncoded(), HMAC_SHA256);
+        this.hmac = ThreadLocal.withInitial(() -> newMac(macKey));
     }
 
     /**
-     * Generates a signed JWT access token.
+     * Generates a signed JWT access token for the user's current token
+     * version (see TokenVersions).
+     *
+     * HS256: only the per-user claims are serialized here; header and issuer
+     * are precomputed in init(). Output is a standard compact JWS.
      */
-    public String generateToken(UserDetails user) {
-
-        List<String> roles = user.getAuthorities()
-                .stream()
-                .map(GrantedAuthority::getAuthority)
-                .toList();
+    public String generateToken(UserDetails user, int tokenVersion) {
 
+        long start = metrics.start();
         long now = System.currentTimeMillis();
 
-        return Jwts.builder()
+        JwtKeyring.Entry active = keyring.active();
+        if (active != null) {
+            String token = generateSigned(user, tokenVersion, now, active);
+            metrics.jwtSigned(start);
+            return token;
+        }
+
+        StringBuilder json = new StringBuilder(160);
+        json.append("{\"sub\":");
+        JsonStrings.append(json, user.getUsername());
+        json.append(issuerClaim)
+                .append(",\"jti\":\"").append(newJti()).append('"')
+                .append(",\"iat\":").append(now / 1000)
+                .append(",\"exp\":").append((now + properties.getExpirationMs()) / 1000)
+                .append(",\"ver\":").append(tokenVersion);
+
+        if (properties.isCompactRoles()) {
+            json.append(",\"rm\":").append(RoleAuthorities.mask(user.getAuthorities()));
+        } else {
+            json.append(",\"roles\":[");
+            boolean first = true;
+            for (GrantedAuthority authority : user.getAuthorities()) {
+                if (!first) {
+                    json.append(',');
+                }
+                JsonStrings.append(json, authority.getAuthority());
+                first = false;
+            }
+            json.append(']');
+        }
+        json.append('}');
+
+        String signingInput = HEADER_SEGMENT
+                + BASE64URL.encodeToString(json.toString().getBytes(StandardCharsets.UTF_8));
+
+        byte[] signature = hmac.get()
+                .doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+
+        String token = signingInput + '.' + BASE64URL.encodeToString(signature);
+        metrics.jwtSigned(start);
+        return token;
+    }
+
+    /**
+     * Validates token signature and standard claims.
+     * Throws JwtException on ANY validation failure.
+     */
+    public Claims validateToken(String token) {
+
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Asymmetric path: JJWT handles the DER to JOSE signature conversion
+     * for ECDSA, which dominates the cost anyway.
+     */
+    private String generateSigned(UserDetails user, int tokenVersion, long now, JwtKeyring.Entry key) {
+
+        JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
                 .setSubject(user.getUsername())
+                .setId(newJti())
                 .setIssuer(properties.getIssuer())
                 .setIssuedAt(new Date(now))
                 .setExpiration(new Date(now + properties.getExpirationMs()))
-                .claim("roles", roles)
-                .signWith(signingKey, SignatureAlgorithm.HS256)
+                .claim("ver", tokenVersion);
+
+        if (properties.isCompactRoles()) {
+            builder.claim("rm", RoleAuthorities.mask(user.getAuthorities()));
+        } else {
+            List<String> roles = new ArrayList<>(user.getAuthorities().size());
+            for (GrantedAuthority authority : user.getAuthorities()) {
+                roles.add(authority.getAuthority());
+            }
+            builder.claim("roles", roles);
+        }
+
+        return builder
+                .signWith(key.privateKey(), key.algorithm())
                 .compact();
     }
 
     /**
-     * Validates token signature and standard claims.
-     * Throws JwtException on ANY validation failure.
+     * This thread's HS256 Mac over the shared secret, for FastTokenVerifier.
+     * Callers must leave it reset (doFinal) after use.
      */
-    public Claims validateToken(String token) {
+    Mac hmac() {
+        return hmac.get();
+    }
 
-        return Jwts.parserBuilder()
-                .requireIssuer(properties.getIssuer())
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * Whether tokens without kid (HS256) are currently accepted.
+     */
+    boolean acceptsHmac() {
+        return keyring.acceptsHmac();
+    }
+
+    String issuer() {
+        return properties.getIssuer();
     }
 
     public long getExpirationSeconds() {
         return properties.getExpirationMs() / 1000;
     }
 
+    /**
+     * 128 random bits, base64url (22 chars). Identifies the token for
+     * revocation; uniqueness is all that matters, not unpredictability.
+     */
+    private static String newJti() {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] bytes = new byte[16];
+        random.nextBytes(bytes);
+        return BASE64URL.encodeToString(bytes);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_SHA256);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("HMAC-SHA256 not available", ex);
+        }
+    }
+
+    /**
+     * kid present: the matching ring key, and only for its own algorithm.
+     * kid absent: the shared HMAC secret, unless jwt.signing.accept-hmac=false.
+     */
+    private final class KeyResolver extends SigningKeyResolverAdapter {
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+
+            String kid = header.getKeyId();
+            if (kid == null) {
+                if (!keyring.acceptsHmac()) {
+                    throw new SignatureException("Token has no kid");
+                }
+                return signingKey;
+            }
+
+            JwtKeyring.Entry entry = keyring.find(kid);
+            if (entry == null) {
+                throw new SignatureException("Unknown kid");
+            }
+            if (!entry.algorithm().getValue().equals(header.getAlgorithm())) {
+                throw new SignatureException("Algorithm does not match kid");
+            }
+            return entry.publicKey();
+        }
+    }
 }
@@ -0,0 +1,90 @@
+package com.smart.jwtsecurity.util;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.InvalidClaimException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Outcome of validating an access token: the verified token, or why it
+ * was rejected.
+ *
+ * Failures are shared constants, so rejecting a token allocates nothing.
+ * Valid results are what VerifiedTokenCache keeps, so a cache hit
+ * allocates nothing either.
+ */
+public final class TokenValidation {
+
+    public enum Outcome {
+        VALID,
+        EXPIRED,
+        BAD_SIGNATURE,
+        WRONG_ISSUER,
+        MALFORMED,
+        INVALID
+    }
+
+    private static final TokenValidation[] FAILURES = new TokenValidation[Outcome.values().length];
+
+    static {
+        for (Outcome outcome : Outcome.values()) {
+            if (outcome != Outcome.VALID) {
+                FAILURES[outcome.ordinal()] = new TokenValidation(outcome, null);
+            }
+        }
+    }
+
+    private final Outcome outcome;
+    private final VerifiedToken token;
+
+    private TokenValidation(Outcome outcome, VerifiedToken token) {
+        this.outcome = outcome;
+        this.token = token;
+    }
+
+    static TokenValidation valid(VerifiedToken token) {
+        return new TokenValidation(Outcome.VALID, token);
+    }
+
+    static TokenValidation failed(Outcome outcome) {
+        if (outcome == Outcome.VALID) {
+            throw new IllegalArgumentException("VALID is not a failure");
+        }
+        return FAILURES[outcome.ordinal()];
+    }
+
+    /**
+     * Failure for an exception thrown by the JJWT parser.
+     */
+    static TokenValidation failed(RuntimeException ex) {
+        if (ex instanceof ExpiredJwtException) {
+            return failed(Outcome.EXPIRED);
+        }
+        if (ex instanceof SignatureException) {
+            return failed(Outcome.BAD_SIGNATURE);
+        }
+        if (ex instanceof InvalidClaimException claim && Claims.ISSUER.equals(claim.getClaimName())) {
+            return failed(Outcome.WRONG_ISSUER);
+        }
+        if (ex instanceof MalformedJwtException || ex instanceof IllegalArgumentException) {
+            return failed(Outcome.MALFORMED);
+        }
+        return failed(Outcome.INVALID);
+    }
+
+    public boolean isValid() {
+        return token != null;
+    }
+
+    public Outcome outcome() {
+        return outcome;
+    }
+
+    /**
+     * The verified token; null unless isValid().
+     */
+    public VerifiedToken token() {
+        return token;
+    }
+}
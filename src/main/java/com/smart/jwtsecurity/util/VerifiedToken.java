@@ -0,0 +1,20 @@
+package com.smart.jwtsecurity.util;
+
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Result of a successful token verification.
+ *
+ * Holds only what the authorization filter needs to rebuild the
+ * Authentication, so cached entries stay small and immutable.
+ */
+public record VerifiedToken(
+        String subject,
+        String jti,
+        int tokenVersion,
+        List<GrantedAuthority> authorities,
+        long expiresAtMillis
+) {
+}
@@ -0,0 +1,185 @@
+package com.smart.jwtsecurity.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.smart.jwtsecurity.config.JwtProperties;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.security.RoleAuthorities;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Bounded cache of already-verified access tokens.
+ *
+ * - Keyed by SHA-256 of the compact token (raw bearer strings are never map keys)
+ * - Each entry expires at the token's exp, or earlier if jwt.cache.max-ttl-ms says so
+ * - Never throws for a bad token: failures come back as a TokenValidation
+ *   with the reason, and are never cached
+ * - Misses go through FastTokenVerifier first, JJWT for everything else
+ * - Each miss is timed as auth.jwt.verify, tagged with the outcome
+ *
+ * Thread-safe. Disabled via jwt.cache.enabled=false.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 =
+            ThreadLocal.withInitial(VerifiedTokenCache::newSha256);
+
+    private final JwtUtil jwtUtil;
+    private final AuthMetrics metrics;
+
+    /**
+     * Null when jwt.fast-verify is off.
+     */
+    private final FastTokenVerifier fastVerifier;
+
+    /**
+     * Null when caching is disabled.
+     */
+    private final Cache<ByteBuffer, TokenValidation> cache;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, JwtProperties properties, AuthMetrics metrics) {
+        this.jwtUtil = jwtUtil;
+        this.metrics = metrics;
+        this.fastVerifier = properties.isFastVerify() ? new FastTokenVerifier(jwtUtil) : null;
+
+        JwtProperties.Cache settings = properties.getCache();
+        this.cache = settings.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(settings.getMaximumSize())
+                        .expireAfter(new TokenExpiry(settings.getMaxTtlMs()))
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Validates the token, or returns the cached result for it.
+     *
+     * Two threads missing on the same new token both verify it; that is
+     * one extra HMAC, and keeps failures from ever becoming cache entries.
+     */
+    public TokenValidation validate(String token) {
+
+        if (cache == null) {
+            return verify(token);
+        }
+
+        ByteBuffer key = digest(token);
+        TokenValidation cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        TokenValidation result = verify(token);
+        if (result.isValid()) {
+            cache.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Hit / miss / eviction counters. Empty when caching is disabled.
+     */
+    public CacheStats stats() {
+        return cache == null ? CacheStats.empty() : cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    private TokenValidation verify(String token) {
+
+        long start = metrics.start();
+        TokenValidation result = fastVerifier != null ? fastVerifier.verify(token) : null;
+        if (result == null) {
+            result = verifyWithJjwt(token);
+        }
+        metrics.jwtVerified(start, result.outcome());
+        return result;
+    }
+
+    /**
+     * The JJWT parser and claim accessors report failures by throwing;
+     * they stop here.
+     */
+    private TokenValidation verifyWithJjwt(String token) {
+
+        try {
+            Claims claims = jwtUtil.validateToken(token);
+            Integer tokenVersion = claims.get("ver", Integer.class);
+            Integer roleMask = claims.get("rm", Integer.class);
+            if (claims.getExpiration() == null) {
+                return TokenValidation.failed(TokenValidation.Outcome.INVALID);
+            }
+
+            return TokenValidation.valid(new VerifiedToken(
+                    claims.getSubject(),
+                    claims.getId(),
+                    tokenVersion == null ? 0 : tokenVersion,
+                    roleMask != null
+                            ? RoleAuthorities.fromMask(roleMask)
+                            : RoleAuthorities.fromClaim(claims.get("roles")),
+                    claims.getExpiration().getTime()
+            ));
+        } catch (JwtException | IllegalArgumentException ex) {
+            return TokenValidation.failed(ex);
+        }
+    }
+
+    private static ByteBuffer digest(String token) {
+        return ByteBuffer.wrap(
+                SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8))
+        );
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    /**
+     * Expires each entry at min(token exp, max TTL). Reads and
+     * updates never extend the lifetime.
+     */
+    private static final class TokenExpiry implements Expiry<ByteBuffer, TokenValidation> {
+
+        private final long maxTtlMs;
+
+        TokenExpiry(long maxTtlMs) {
+            this.maxTtlMs = maxTtlMs;
+        }
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, TokenValidation value, long currentTime) {
+            long remainingMs = value.token().expiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, Math.min(remainingMs, maxTtlMs)));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, TokenValidation value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, TokenValidation value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
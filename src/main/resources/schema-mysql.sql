@@ -0,0 +1,18 @@
+-- ===============================
+-- MYSQL: INDEXES ADDED AFTER THE FIRST RELEASE
+-- ===============================
+-- CREATE TABLE IF NOT EXISTS leaves existing tables as they are, and
+-- MySQL has no CREATE INDEX IF NOT EXISTS: create it only when
+-- information_schema does not list it yet.
+-- ===============================
+SET @ddl = IF(
+    (SELECT COUNT(*) FROM information_schema.statistics
+     WHERE table_schema = DATABASE()
+       AND table_name = 'users'
+       AND index_name = 'idx_users_token_version_at') = 0,
+    'CREATE INDEX idx_users_token_version_at ON users (token_version_at)',
+    'DO 0'
+);
+PREPARE create_index FROM @ddl;
+EXECUTE create_index;
+DEALLOCATE PREPARE create_index;
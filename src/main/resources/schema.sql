@@ -10,10 +10,17 @@ CREATE TABLE IF NOT EXISTS users (
 
     enabled  BOOLEAN NOT NULL DEFAULT TRUE,
 
+    -- Bumped to invalidate all of the user's access tokens
+    token_version    INT    NOT NULL DEFAULT 0,
+    token_version_at BIGINT NOT NULL DEFAULT 0,
+
     CONSTRAINT uk_users_username UNIQUE (username),
     CONSTRAINT uk_users_email    UNIQUE (email)
 );
 
+-- idx_users_token_version_at (token version polling) is created in
+-- schema-${platform}.sql, so tables created before it get it too.
+
 -- ===============================
 -- USER_ROLES TABLE
 -- ===============================
@@ -34,3 +41,86 @@ CREATE TABLE IF NOT EXISTS user_roles (
         REFERENCES users(id)
         ON DELETE CASCADE
 );
+
+-- ===============================
+-- LOGIN_RATE_LIMIT TABLE
+-- ===============================
+-- Shared login attempt counters
+-- (rate-limit.store=jdbc).
+-- One row per client key per aligned window.
+-- Window-first primary key serves the upsert,
+-- the per-window refresh and the purge.
+-- ===============================
+CREATE TABLE IF NOT EXISTS login_rate_limit (
+    window_start BIGINT      NOT NULL,
+    rl_key       VARCHAR(64) NOT NULL,
+    attempts     INT         NOT NULL,
+
+    PRIMARY KEY (window_start, rl_key)
+);
+
+-- ===============================
+-- REFRESH_TOKENS TABLE
+-- ===============================
+-- Opaque refresh tokens, stored as HMAC-SHA256
+-- of the token (never the token itself).
+-- A family is one login; every rotation adds a
+-- row to it and marks the previous one used.
+-- Presenting a used token revokes the family.
+-- ===============================
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    token_hash BINARY(32)  NOT NULL,
+    family_id  VARCHAR(36) NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    expires_at BIGINT      NOT NULL,
+    used       BOOLEAN     NOT NULL DEFAULT FALSE,
+
+    PRIMARY KEY (token_hash),
+    INDEX idx_refresh_tokens_family  (family_id),
+    INDEX idx_refresh_tokens_expires (expires_at),
+
+    CONSTRAINT fk_refresh_tokens_user
+        FOREIGN KEY (user_id)
+        REFERENCES users(id)
+        ON DELETE CASCADE
+);
+
+-- ===============================
+-- REVOKED_TOKENS TABLE
+-- ===============================
+-- Access token denylist, by jti.
+-- Rows are meaningful until expires_at (the
+-- token's own exp) and purged afterwards.
+-- revoked_at drives incremental polling.
+-- ===============================
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti        VARCHAR(32) NOT NULL,
+    expires_at BIGINT      NOT NULL,
+    revoked_at BIGINT      NOT NULL,
+
+    PRIMARY KEY (jti),
+    INDEX idx_revoked_tokens_revoked (revoked_at),
+    INDEX idx_revoked_tokens_expires (expires_at)
+);
+
+-- ===============================
+-- LOGIN_EVENTS TABLE
+-- ===============================
+-- Authentication audit trail: logins (success
+-- and failure), rate-limit rejections and
+-- rejected access tokens. Append-only, written
+-- in multi-row inserts by the audit writer.
+-- username is as submitted (or the token
+-- subject); NULL when unknown.
+-- ===============================
+CREATE TABLE IF NOT EXISTS login_events (
+    id          BIGINT       PRIMARY KEY AUTO_INCREMENT,
+    occurred_at BIGINT       NOT NULL,
+    event_type  VARCHAR(20)  NOT NULL,
+    outcome     VARCHAR(20),
+    username    VARCHAR(150),
+    client_ip   VARCHAR(45)  NOT NULL,
+
+    INDEX idx_login_events_occurred (occurred_at),
+    INDEX idx_login_events_username (username, occurred_at)
+);
@@ -0,0 +1,59 @@
+package com.smart.jwtsecurity.reactive;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Fixed JSON error bodies, encoded once; same text as the servlet edition.
+ */
+final class ErrorResponses {
+
+    static final byte[] UNAUTHORIZED = """
+            {
+              "status": 401,
+              "error": "UNAUTHORIZED",
+              "message": "Authentication required or token invalid"
+            }
+        """.getBytes(StandardCharsets.UTF_8);
+
+    static final byte[] FORBIDDEN = """
+            {
+              "status": 403,
+              "error": "FORBIDDEN",
+              "message": "You do not have permission to access this resource"
+            }
+        """.getBytes(StandardCharsets.UTF_8);
+
+    static final byte[] TOO_MANY_REQUESTS = """
+                {
+                  "error": "TOO_MANY_REQUESTS",
+                  "message": "Too many login attempts. Please try again later."
+                }
+            """.getBytes(StandardCharsets.UTF_8);
+
+    static final byte[] SERVICE_UNAVAILABLE = """
+                    {
+                      "status": 503,
+                      "error": "SERVICE_UNAVAILABLE",
+                      "message": "Login capacity exhausted. Please retry shortly."
+                    }
+                """.getBytes(StandardCharsets.UTF_8);
+
+    private ErrorResponses() {}
+
+    static Mono<Void> write(ServerWebExchange exchange, HttpStatus status, byte[] body) {
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().setContentLength(body.length);
+
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+}
@@ -0,0 +1,73 @@
+package com.smart.jwtsecurity.reactive;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.security.TokenAuthentication;
+import com.smart.jwtsecurity.util.TokenValidation;
+import com.smart.jwtsecurity.util.VerifiedToken;
+import com.smart.jwtsecurity.util.VerifiedTokenCache;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of JwtAuthorizationFilter.
+ *
+ * Verification is the same VerifiedTokenCache call (CPU only, no I/O),
+ * so it runs inline on the event loop, as does the in-memory token
+ * version check. The denylist is asked next; only a Bloom filter hit
+ * queries revoked_tokens, over R2DBC. A valid, current, unrevoked token
+ * puts a TokenAuthentication into the Reactor context; anything else
+ * leaves the exchange anonymous and protected paths answer 401.
+ */
+@RequiredArgsConstructor
+public class JwtWebFilter implements WebFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final R2dbcTokenDenylist tokenDenylist;
+    private final R2dbcTokenVersions tokenVersions;
+    private final AuthMetrics metrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        String header = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER)) {
+            return chain.filter(exchange);
+        }
+
+        long start = metrics.start();
+        TokenValidation result = verifiedTokenCache.validate(header.substring(BEARER.length()));
+        metrics.jwtFilter(start);
+
+        if (!result.isValid()) {
+            return chain.filter(exchange);
+        }
+        VerifiedToken verified = result.token();
+
+        // Outdated or revoked → no Authentication; protected paths answer 401.
+        if (!tokenVersions.isCurrent(verified.subject(), verified.tokenVersion())) {
+            return chain.filter(exchange);
+        }
+
+        return tokenDenylist.isRevoked(verified.jti())
+                .flatMap(revoked -> {
+                    if (revoked) {
+                        return chain.filter(exchange);
+                    }
+                    TokenAuthentication authentication = new TokenAuthentication(
+                            verified.subject(),
+                            verified.authorities()
+                    );
+                    return chain.filter(exchange)
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+                });
+    }
+}
@@ -0,0 +1,52 @@
+package com.smart.jwtsecurity.reactive;
+
+import java.net.InetSocketAddress;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.ratelimit.RateLimitStore;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of LoginRateLimitFilter: per-IP limit on /login.
+ *
+ * The store must not block (one atomic increment per attempt in InMemoryRateLimitStore),
+ * since this runs on the event loop.
+ */
+@RequiredArgsConstructor
+public class LoginRateLimitWebFilter implements WebFilter {
+
+    private final RateLimitStore rateLimitStore;
+    private final AuthMetrics metrics;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        if (!"/login".equals(exchange.getRequest().getPath().value())) {
+            return chain.filter(exchange);
+        }
+
+        if (rateLimitStore.tryAcquire(clientKey(exchange.getRequest().getRemoteAddress()))) {
+            return chain.filter(exchange);
+        }
+
+        metrics.loginRateLimited();
+        return ErrorResponses.write(exchange, HttpStatus.TOO_MANY_REQUESTS, ErrorResponses.TOO_MANY_REQUESTS);
+    }
+
+    private static String clientKey(InetSocketAddress remote) {
+
+        if (remote == null) {
+            return "unknown";
+        }
+        return remote.getAddress() != null
+                ? remote.getAddress().getHostAddress()
+                : remote.getHostString();
+    }
+}
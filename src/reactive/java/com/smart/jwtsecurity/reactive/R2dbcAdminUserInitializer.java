@@ -0,0 +1,75 @@
+package com.smart.jwtsecurity.reactive;
+
+import java.util.List;
+
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.smart.jwtsecurity.security.RoleConstants;
+
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ensures the default ADMIN user exists, like AdminUserInitializer.
+ *
+ * Runs once at startup, so it simply blocks until done.
+ */
+@RequiredArgsConstructor
+public class R2dbcAdminUserInitializer implements ApplicationRunner {
+
+    private static final String ADMIN_USERNAME = "admin";
+    private static final String ADMIN_EMAIL = "admin@system.local";
+    private static final String ADMIN_PASSWORD = "admin123";
+
+    private static final List<String> ADMIN_ROLES = List.of(RoleConstants.ROLE_ADMIN, RoleConstants.ROLE_USER);
+
+    private final DatabaseClient databaseClient;
+    private final PasswordEncoder passwordEncoder;
+
+    @Override
+    public void run(ApplicationArguments args) {
+
+        databaseClient.sql("SELECT id FROM users WHERE username = :username OR email = :email")
+                .bind("username", ADMIN_USERNAME)
+                .bind("email", ADMIN_EMAIL)
+                .map(row -> row.get("id", Long.class))
+                .first()
+                .switchIfEmpty(Mono.defer(this::createAdminUser))
+                .flatMap(this::grantMissingRoles)
+                .block();
+    }
+
+    private Mono<Long> createAdminUser() {
+
+        return databaseClient.sql("""
+                        INSERT INTO users (username, email, password, enabled)
+                        VALUES (:username, :email, :password, TRUE)
+                        """)
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("username", ADMIN_USERNAME)
+                .bind("email", ADMIN_EMAIL)
+                .bind("password", passwordEncoder.encode(ADMIN_PASSWORD))
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+
+    private Mono<Void> grantMissingRoles(Long userId) {
+
+        return databaseClient.sql("SELECT role FROM user_roles WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map(row -> row.get("role", String.class))
+                .all()
+                .collectList()
+                .flatMapMany(granted -> Flux.fromIterable(ADMIN_ROLES).filter(role -> !granted.contains(role)))
+                .concatMap(role -> databaseClient.sql("INSERT INTO user_roles (user_id, role) VALUES (:userId, :role)")
+                        .bind("userId", userId)
+                        .bind("role", role)
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+    }
+}
@@ -0,0 +1,159 @@
+package com.smart.jwtsecurity.reactive;
+
+import java.time.Duration;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smart.jwtsecurity.config.JwtProperties;
+import com.smart.jwtsecurity.token.BloomFilter;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of TokenDenylist, reading revoked_tokens over
+ * R2DBC.
+ *
+ * Same Bloom filter, poll and rebuild (jwt.revocation.*): a filter miss
+ * answers without I/O, only a hit queries the table. Tokens are revoked
+ * and rows purged by the servlet edition; revocations apply here within
+ * one poll interval.
+ */
+@Slf4j
+public class R2dbcTokenDenylist {
+
+    private static final String EXISTS =
+            "SELECT COUNT(*) FROM revoked_tokens WHERE jti = :jti AND expires_at > :now";
+
+    private static final String SELECT_SINCE =
+            "SELECT jti FROM revoked_tokens WHERE revoked_at >= :since AND expires_at > :now";
+
+    /**
+     * Same overlap as TokenDenylist.
+     */
+    private static final long POLL_OVERLAP_MS = 5_000;
+
+    private static final Mono<Boolean> NOT_REVOKED = Mono.just(false);
+
+    private final DatabaseClient databaseClient;
+    private final JwtProperties.Revocation settings;
+
+    private volatile BloomFilter filter;
+
+    /**
+     * Table answers for filter hits; concurrent requests for one jti
+     * share a single query.
+     */
+    private final AsyncCache<String, Boolean> confirmed;
+
+    private volatile long lastPoll;
+
+    private final Disposable polling;
+
+    public R2dbcTokenDenylist(DatabaseClient databaseClient, JwtProperties properties) {
+        this.databaseClient = databaseClient;
+        this.settings = properties.getRevocation();
+        this.filter = new BloomFilter(settings.getExpectedInsertions(), settings.getFalsePositiveRate());
+        this.confirmed = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(settings.getRebuildIntervalMs()))
+                .buildAsync();
+
+        // One pipeline, so a poll and a rebuild never overlap (TokenDenylist
+        // gets the same from its single scheduler thread). Ticks that pile
+        // up behind a slow run are dropped.
+        Duration pollInterval = Duration.ofMillis(settings.getPollIntervalMs());
+        Duration rebuildInterval = Duration.ofMillis(settings.getRebuildIntervalMs());
+        this.polling = Flux.merge(
+                        Flux.interval(Duration.ZERO, rebuildInterval).map(tick -> Boolean.TRUE),
+                        Flux.interval(pollInterval, pollInterval).map(tick -> Boolean.FALSE)
+                )
+                .onBackpressureDrop()
+                .concatMap(rebuild -> (rebuild ? rebuild() : poll()).onErrorResume(ex -> {
+                    log.warn("DENYLIST: {} failed | reason={}", rebuild ? "rebuild" : "poll", ex.getMessage());
+                    return Mono.empty();
+                }), 1)
+                .subscribe();
+    }
+
+    /**
+     * Null jti (tokens issued before jti existed) is never revoked.
+     */
+    public Mono<Boolean> isRevoked(String jti) {
+
+        if (jti == null || !filter.mightContain(jti)) {
+            return NOT_REVOKED;
+        }
+        // Cancelling one subscriber must not cancel the shared query
+        return Mono.fromFuture(confirmed.get(jti, (key, executor) -> exists(key).toFuture()), true);
+    }
+
+    public void dispose() {
+        polling.dispose();
+    }
+
+    /**
+     * Adds revocations made since the previous poll.
+     */
+    Mono<Void> poll() {
+
+        return Mono.defer(() -> {
+            long now = System.currentTimeMillis();
+            BloomFilter current = filter;
+
+            return live(lastPoll - POLL_OVERLAP_MS, now)
+                    .doOnNext(jti -> {
+                        current.put(jti);
+                        confirmed.synchronous().invalidate(jti);
+                    })
+                    .then(Mono.fromRunnable(() -> lastPoll = now));
+        });
+    }
+
+    /**
+     * Replaces the filter with one holding only live revocations, sized
+     * for at least twice their number.
+     */
+    Mono<Void> rebuild() {
+
+        return Mono.defer(() -> {
+            long now = System.currentTimeMillis();
+
+            return live(0, now)
+                    .collectList()
+                    .doOnNext(live -> {
+                        long expected = Math.max(settings.getExpectedInsertions(), 2L * live.size());
+                        BloomFilter fresh = new BloomFilter(expected, settings.getFalsePositiveRate());
+                        live.forEach(fresh::put);
+
+                        filter = fresh;
+                        lastPoll = now;
+                        confirmed.synchronous().invalidateAll();
+                    })
+                    .then();
+        });
+    }
+
+    private Mono<Boolean> exists(String jti) {
+
+        return databaseClient.sql(EXISTS)
+                .bind("jti", jti)
+                .bind("now", System.currentTimeMillis())
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(count -> count > 0);
+    }
+
+    private Flux<String> live(long since, long now) {
+
+        return databaseClient.sql(SELECT_SINCE)
+                .bind("since", since)
+                .bind("now", now)
+                .map(row -> row.get("jti", String.class))
+                .all();
+    }
+}
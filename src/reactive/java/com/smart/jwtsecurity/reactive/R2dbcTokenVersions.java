@@ -0,0 +1,85 @@
+package com.smart.jwtsecurity.reactive;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import com.smart.jwtsecurity.config.JwtProperties;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of TokenVersions: users.token_version, polled
+ * over R2DBC into memory.
+ *
+ * isCurrent never does I/O, so JwtWebFilter calls it on the event loop.
+ * Versions are only incremented by the servlet edition (revoke-all);
+ * they apply here within jwt.token-version.poll-interval-ms.
+ */
+@Slf4j
+public class R2dbcTokenVersions {
+
+    private static final String SELECT_SINCE =
+            "SELECT username, token_version FROM users WHERE token_version_at >= :since";
+
+    /**
+     * Same overlap as TokenVersions.
+     */
+    private static final long POLL_OVERLAP_MS = 5_000;
+
+    private final DatabaseClient databaseClient;
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+
+    private volatile long lastPoll = 1 + POLL_OVERLAP_MS;
+
+    private final Disposable polling;
+
+    public R2dbcTokenVersions(DatabaseClient databaseClient, JwtProperties properties) {
+        this.databaseClient = databaseClient;
+
+        long pollMs = properties.getTokenVersion().getPollIntervalMs();
+        this.polling = Flux.interval(Duration.ZERO, Duration.ofMillis(pollMs))
+                .onBackpressureDrop()
+                .concatMap(tick -> poll().onErrorResume(ex -> {
+                    log.warn("TOKEN VERSIONS: poll failed | reason={}", ex.getMessage());
+                    return Mono.empty();
+                }), 1)
+                .subscribe();
+    }
+
+    /**
+     * False if the user's tokens were invalidated after this one was issued.
+     */
+    public boolean isCurrent(String username, int version) {
+        return version >= versions.getOrDefault(username, 0);
+    }
+
+    public void dispose() {
+        polling.dispose();
+    }
+
+    /**
+     * Pulls version changes made since the previous poll.
+     */
+    Mono<Void> poll() {
+
+        return Mono.defer(() -> {
+            long now = System.currentTimeMillis();
+
+            return databaseClient.sql(SELECT_SINCE)
+                    .bind("since", lastPoll - POLL_OVERLAP_MS)
+                    .map(row -> Map.entry(
+                            row.get("username", String.class),
+                            row.get("token_version", Integer.class)
+                    ))
+                    .all()
+                    .doOnNext(version -> versions.merge(version.getKey(), version.getValue(), Math::max))
+                    .then(Mono.fromRunnable(() -> lastPoll = now));
+        });
+    }
+}
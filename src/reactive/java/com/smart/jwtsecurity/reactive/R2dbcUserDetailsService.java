@@ -0,0 +1,152 @@
+package com.smart.jwtsecurity.reactive;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.smart.jwtsecurity.domain.projection.AuthUser;
+import com.smart.jwtsecurity.domain.projection.AuthUserRow;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+/**
+ * ReactiveUserDetailsService over the users / user_roles tables, through
+ * R2DBC.
+ *
+ * Same read as UserRepository.findForAuthentication: one unique index
+ * picked by input shape, user columns and roles in one join. The user's
+ * token_version comes along, so tokens issued here carry the same ver
+ * claim the servlet edition checks.
+ *
+ * Also the ReactiveUserDetailsPasswordService: outdated hashes are
+ * replaced after a successful login.
+ */
+@RequiredArgsConstructor
+public class R2dbcUserDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private static final String SELECT = """
+            SELECT u.id, u.username, u.password, u.enabled, u.token_version, r.role
+            FROM users u
+            LEFT JOIN user_roles r ON r.user_id = u.id
+            """;
+
+    private static final String BY_USERNAME = SELECT + "WHERE u.username = :login";
+    private static final String BY_EMAIL = SELECT + "WHERE u.email = :login";
+
+    private static final String UPDATE_PASSWORD =
+            "UPDATE users SET password = :password WHERE username = :username";
+
+    private final DatabaseClient databaseClient;
+    private final AuthMetrics metrics;
+
+    @Override
+    public Mono<UserDetails> findByUsername(String usernameOrEmail) {
+
+        Mono<UserDetails> user = usernameOrEmail.indexOf('@') >= 0
+                ? find(BY_EMAIL, usernameOrEmail)
+                        .switchIfEmpty(Mono.defer(() -> find(BY_USERNAME, usernameOrEmail)))
+                : find(BY_USERNAME, usernameOrEmail);
+
+        return Mono.defer(() -> {
+            long start = metrics.start();
+            return user.doFinally(signal -> metrics.userLoaded(start));
+        });
+    }
+
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails user, String newPassword) {
+
+        return databaseClient.sql(UPDATE_PASSWORD)
+                .bind("password", newPassword)
+                .bind("username", user.getUsername())
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(withPassword(user, newPassword));
+    }
+
+    private Mono<UserDetails> find(String sql, String login) {
+
+        return databaseClient.sql(sql)
+                .bind("login", login)
+                .map(R2dbcUserDetailsService::row)
+                .all()
+                .collectList()
+                .flatMap(rows -> Mono.justOrEmpty(AuthUser.fromRows(rows.stream().map(Row::user).toList())
+                        .map(user -> toUserDetails(user, rows.get(0).tokenVersion()))));
+    }
+
+    private static Row row(Readable row) {
+
+        Integer tokenVersion = row.get("token_version", Integer.class);
+        return new Row(
+                new AuthUserRow(
+                        row.get("id", Long.class),
+                        row.get("username", String.class),
+                        row.get("password", String.class),
+                        Boolean.TRUE.equals(row.get("enabled", Boolean.class)),
+                        row.get("role", String.class)
+                ),
+                tokenVersion == null ? 0 : tokenVersion
+        );
+    }
+
+    private static UserDetails toUserDetails(AuthUser user, int tokenVersion) {
+
+        return new VersionedUser(
+                user.username(),
+                user.password(),
+                user.enabled(),
+                AuthorityUtils.createAuthorityList(List.copyOf(user.roles())),
+                tokenVersion
+        );
+    }
+
+    private static UserDetails withPassword(UserDetails user, String password) {
+
+        return new VersionedUser(
+                user.getUsername(),
+                password,
+                user.isEnabled(),
+                user.getAuthorities(),
+                user instanceof VersionedUser versioned ? versioned.getTokenVersion() : 0
+        );
+    }
+
+    private record Row(AuthUserRow user, int tokenVersion) {
+    }
+
+    /**
+     * UserDetails that remembers the token_version it was loaded with.
+     */
+    static final class VersionedUser extends User {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int tokenVersion;
+
+        VersionedUser(
+                String username,
+                String password,
+                boolean enabled,
+                Collection<? extends GrantedAuthority> authorities,
+                int tokenVersion
+        ) {
+            super(username, password, enabled, true, true, true, authorities);
+            this.tokenVersion = tokenVersion;
+        }
+
+        int getTokenVersion() {
+            return tokenVersion;
+        }
+    }
+}
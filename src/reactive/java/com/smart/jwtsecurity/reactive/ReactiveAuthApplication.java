@@ -0,0 +1,30 @@
+package com.smart.jwtsecurity.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Bootstrap class of the reactive edition (mvn -Preactive).
+ *
+ * Same tokens, keys and users tables as JwtSecurityApplication, served by
+ * WebFlux on Netty with R2DBC lookups:
+ * - Scans this package only; the shared JWT beans come in through
+ *   ReactiveSecurityConfig
+ * - Always runs with the 'reactive' profile (application-reactive.yml)
+ *
+ * Every bean here is conditional on a reactive context, so the servlet
+ * application, whose scan covers this package, ignores it.
+ */
+@SpringBootApplication
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveAuthApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveAuthApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles("reactive")
+                .run(args);
+    }
+}
@@ -0,0 +1,138 @@
+package com.smart.jwtsecurity.reactive;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.smart.jwtsecurity.dto.LoginApiResponse;
+import com.smart.jwtsecurity.dto.LoginRequest;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.metrics.AuthMetrics.LoginOutcome;
+import com.smart.jwtsecurity.reactive.R2dbcUserDetailsService.VersionedUser;
+import com.smart.jwtsecurity.util.JwtUtil;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Login and the protected sample endpoints of the reactive edition.
+ *
+ * Same contract as AuthController.login and TestController. No refresh
+ * tokens here: refreshToken is always null.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAuthController {
+
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final JwtUtil jwtUtil;
+    private final AuthMetrics metrics;
+
+    @PostMapping("/login")
+    public Mono<LoginApiResponse> login(@RequestBody @Valid LoginRequest request) {
+
+        return Mono.defer(() -> {
+            long start = metrics.start();
+
+            return authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(
+                                    request.getUsernameOrEmail(),
+                                    request.getPassword()
+                            )
+                    )
+                    .map(authentication -> response((UserDetails) authentication.getPrincipal()))
+                    .doOnSuccess(response -> metrics.login(start, LoginOutcome.SUCCESS))
+                    .doOnError(ex -> {
+                        LoginOutcome outcome = outcome(ex);
+                        metrics.login(start, outcome);
+                        log.warn(
+                            "LOGIN FAILED | user={} | outcome={}",
+                            request.getUsernameOrEmail(),
+                            outcome
+                        );
+                    });
+        });
+    }
+
+    @GetMapping("/api/user")
+    public String user() {
+        return "USER ACCESS";
+    }
+
+    @GetMapping("/api/admin")
+    public String admin() {
+        return "ADMIN ACCESS";
+    }
+
+    /**
+     * Bad credentials, disabled or locked → the same 401 as the entry point.
+     */
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<byte[]> authenticationFailed() {
+
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ErrorResponses.UNAUTHORIZED);
+    }
+
+    /**
+     * Password verification scheduler is saturated → shed load.
+     */
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<byte[]> verificationRejected() {
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ErrorResponses.SERVICE_UNAVAILABLE);
+    }
+
+    private LoginApiResponse response(UserDetails user) {
+
+        int tokenVersion = user instanceof VersionedUser versioned ? versioned.getTokenVersion() : 0;
+
+        return LoginApiResponse.builder()
+                .accessToken(jwtUtil.generateToken(user, tokenVersion))
+                .tokenType("Bearer")
+                .expiresInSeconds(jwtUtil.getExpirationSeconds())
+                .username(user.getUsername())
+                .roles(
+                        user.getAuthorities()
+                                .stream()
+                                .map(GrantedAuthority::getAuthority)
+                                .collect(Collectors.toSet())
+                )
+                .build();
+    }
+
+    private static LoginOutcome outcome(Throwable ex) {
+
+        return ex instanceof BadCredentialsException ? LoginOutcome.BAD_CREDENTIALS
+                : ex instanceof DisabledException ? LoginOutcome.DISABLED
+                : ex instanceof LockedException ? LoginOutcome.LOCKED
+                : ex instanceof RejectedExecutionException ? LoginOutcome.REJECTED
+                : LoginOutcome.ERROR;
+    }
+}
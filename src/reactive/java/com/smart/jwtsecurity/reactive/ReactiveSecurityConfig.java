@@ -0,0 +1,178 @@
+package com.smart.jwtsecurity.reactive;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+
+import com.smart.jwtsecurity.config.AuthMetricsProperties;
+import com.smart.jwtsecurity.config.JwtProperties;
+import com.smart.jwtsecurity.config.PasswordProperties;
+import com.smart.jwtsecurity.config.RateLimitProperties;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.ratelimit.InMemoryRateLimitStore;
+import com.smart.jwtsecurity.ratelimit.RateLimitStore;
+import com.smart.jwtsecurity.security.PasswordEncoders;
+import com.smart.jwtsecurity.util.JwtKeyring;
+import com.smart.jwtsecurity.util.JwtUtil;
+import com.smart.jwtsecurity.util.VerifiedTokenCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Security chain of the reactive edition.
+ *
+ * Shares JwtProperties, JwtKeyring, JwtUtil and VerifiedTokenCache with
+ * the servlet edition, so either one accepts the other's tokens.
+ *
+ * - Rate limiting: node-local InMemoryRateLimitStore (rate-limit.store
+ *   is ignored; the JDBC store would block the event loop)
+ * - Revocation: denylist and token versions read over R2DBC; tokens
+ *   revoked by the servlet edition are refused within a poll interval
+ * - Password verification: on a bounded scheduler (password.threads
+ *   workers, password.queue-capacity waiting); beyond that, 503
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@Import({
+		JwtProperties.class,
+		JwtKeyring.class,
+		JwtUtil.class,
+		VerifiedTokenCache.class,
+		PasswordProperties.class,
+		RateLimitProperties.class,
+		AuthMetricsProperties.class
+})
+public class ReactiveSecurityConfig {
+
+	@Bean
+	SecurityWebFilterChain securityWebFilterChain(
+			ServerHttpSecurity http,
+			VerifiedTokenCache verifiedTokenCache,
+			R2dbcTokenDenylist tokenDenylist,
+			R2dbcTokenVersions tokenVersions,
+			RateLimitStore rateLimitStore,
+			AuthMetrics authMetrics
+	) {
+
+		return http
+				.csrf(csrf -> csrf.disable())
+				.httpBasic(basic -> basic.disable())
+				.formLogin(form -> form.disable())
+				.logout(logout -> logout.disable())
+
+				// No WebSession (JWT only)
+				.securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+
+				.authorizeExchange(exchange -> exchange
+						.pathMatchers("/login", "/actuator/health").permitAll()
+						.pathMatchers("/admin/**", "/actuator/**").hasRole("ADMIN")
+						.anyExchange().authenticated()
+				)
+
+				.exceptionHandling(ex -> ex
+						.authenticationEntryPoint((exchange, denied) ->
+								ErrorResponses.write(exchange, HttpStatus.UNAUTHORIZED, ErrorResponses.UNAUTHORIZED))
+						.accessDeniedHandler((exchange, denied) ->
+								ErrorResponses.write(exchange, HttpStatus.FORBIDDEN, ErrorResponses.FORBIDDEN))
+				)
+
+				.addFilterBefore(
+						new LoginRateLimitWebFilter(rateLimitStore, authMetrics),
+						SecurityWebFiltersOrder.AUTHENTICATION
+				)
+				.addFilterAt(
+						new JwtWebFilter(verifiedTokenCache, tokenDenylist, tokenVersions, authMetrics),
+						SecurityWebFiltersOrder.AUTHENTICATION
+				)
+				.build();
+	}
+
+	@Bean
+	AuthMetrics authMetrics(AuthMetricsProperties properties, ObjectProvider<MeterRegistry> registry) {
+		MeterRegistry meterRegistry = registry.getIfAvailable();
+		return properties.isEnabled() && meterRegistry != null
+				? new AuthMetrics(meterRegistry)
+				: AuthMetrics.DISABLED;
+	}
+
+	@Bean(destroyMethod = "dispose")
+	@DependsOnDatabaseInitialization
+	R2dbcTokenDenylist tokenDenylist(DatabaseClient databaseClient, JwtProperties properties) {
+		return new R2dbcTokenDenylist(databaseClient, properties);
+	}
+
+	@Bean(destroyMethod = "dispose")
+	@DependsOnDatabaseInitialization
+	R2dbcTokenVersions tokenVersions(DatabaseClient databaseClient, JwtProperties properties) {
+		return new R2dbcTokenVersions(databaseClient, properties);
+	}
+
+	@Bean
+	RateLimitStore rateLimitStore(RateLimitProperties properties) {
+		return new InMemoryRateLimitStore(properties);
+	}
+
+	@Bean
+	PasswordEncoder passwordEncoder(PasswordProperties properties, AuthMetrics authMetrics) {
+		return authMetrics.timed(PasswordEncoders.delegating(properties));
+	}
+
+	/**
+	 * BCrypt runs here, never on an event-loop thread. A full queue fails
+	 * the login with RejectedExecutionException instead of waiting.
+	 *
+	 * Bounded elastic queues per worker, not in one shared queue, so
+	 * password.queue-capacity is split across the workers (rounded up).
+	 */
+	@Bean(destroyMethod = "dispose")
+	Scheduler passwordScheduler(PasswordProperties properties) {
+		int threads = properties.getThreads();
+		return Schedulers.newBoundedElastic(
+				threads,
+				(properties.getQueueCapacity() + threads - 1) / threads,
+				"reactive-password",
+				60,
+				true
+		);
+	}
+
+	@Bean
+	R2dbcUserDetailsService userDetailsService(DatabaseClient databaseClient, AuthMetrics authMetrics) {
+		return new R2dbcUserDetailsService(databaseClient, authMetrics);
+	}
+
+	@Bean
+	ReactiveAuthenticationManager authenticationManager(
+			R2dbcUserDetailsService userDetailsService,
+			PasswordEncoder passwordEncoder,
+			Scheduler passwordScheduler
+	) {
+		UserDetailsRepositoryReactiveAuthenticationManager manager =
+				new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService);
+		manager.setPasswordEncoder(passwordEncoder);
+		manager.setUserDetailsPasswordService(userDetailsService);
+		manager.setScheduler(passwordScheduler);
+		return manager;
+	}
+
+	@Bean
+	R2dbcAdminUserInitializer adminUserInitializer(DatabaseClient databaseClient, PasswordEncoder passwordEncoder) {
+		return new R2dbcAdminUserInitializer(databaseClient, passwordEncoder);
+	}
+}
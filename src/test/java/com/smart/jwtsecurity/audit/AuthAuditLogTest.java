@@ -0,0 +1,113 @@
+package com.smart.jwtsecurity.audit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.smart.jwtsecurity.config.AuditProperties;
+import com.smart.jwtsecurity.metrics.AuthMetrics.LoginOutcome;
+
+/**
+ * A flood of token rejections against a writer that is asleep: login
+ * events still find room in the buffer. A write failing in an unexpected
+ * way does not stop the writer.
+ */
+class AuthAuditLogTest {
+
+    private static final int CAPACITY = 64;
+
+    private JdbcTemplate database;
+    private AuthAuditLog audit;
+
+    @BeforeEach
+    void setUp() {
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:audit" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        database = new JdbcTemplate(dataSource);
+
+        AuditProperties properties = new AuditProperties();
+        properties.setCapacity(CAPACITY);
+        properties.setBatchSize(1000);
+        properties.setFlushIntervalMs(3_600_000);
+        audit = new AuthAuditLog(database, properties);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        audit.shutdown();
+    }
+
+    @Test
+    void tokenRejectionsCannotCrowdOutLogins() throws InterruptedException {
+
+        for (int i = 0; i < 10_000; i++) {
+            audit.tokenRejected("MALFORMED", null, "10.0.0.1");
+        }
+        for (int i = 0; i < CAPACITY / 2; i++) {
+            audit.loginFailed("admin", "10.0.0.2", LoginOutcome.BAD_CREDENTIALS);
+        }
+
+        assertThat(audit.droppedCount()).isZero();
+        assertThat(audit.tokenRejectionsDroppedCount()).isGreaterThanOrEqualTo(10_000 - CAPACITY);
+
+        audit.shutdown();
+
+        assertThat(events("LOGIN_FAILURE")).isEqualTo(CAPACITY / 2);
+        assertThat(events("TOKEN_REJECTED")).isLessThanOrEqualTo(CAPACITY);
+    }
+
+    @Test
+    void writerSurvivesUnexpectedFailure() throws InterruptedException {
+
+        AtomicBoolean failNext = new AtomicBoolean(true);
+        JdbcTemplate failingOnce = new JdbcTemplate(database.getDataSource()) {
+            @Override
+            public int update(String sql, Object... args) {
+                if (failNext.getAndSet(false)) {
+                    throw new IllegalStateException("not a DataAccessException");
+                }
+                return super.update(sql, args);
+            }
+        };
+
+        AuditProperties properties = new AuditProperties();
+        properties.setFlushIntervalMs(10);
+        AuthAuditLog survivor = new AuthAuditLog(failingOnce, properties);
+        try {
+            survivor.loginSucceeded("admin", "10.0.0.1");
+            awaitUntil(() -> survivor.failedCount() == 1);
+
+            survivor.loginSucceeded("admin", "10.0.0.1");
+            awaitUntil(() -> survivor.writtenCount() == 1);
+            assertThat(events("LOGIN_SUCCESS")).isEqualTo(1);
+        } finally {
+            survivor.shutdown();
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private int events(String type) {
+        Integer events = database.queryForObject(
+                "SELECT COUNT(*) FROM login_events WHERE event_type = ?", Integer.class, type);
+        return events == null ? 0 : events;
+    }
+}
@@ -0,0 +1,191 @@
+package com.smart.jwtsecurity.controller;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.jayway.jsonpath.JsonPath;
+import com.smart.jwtsecurity.config.RateLimitProperties;
+import com.smart.jwtsecurity.domain.entity.User;
+import com.smart.jwtsecurity.repository.UserRepository;
+import com.smart.jwtsecurity.security.RoleConstants;
+import com.smart.jwtsecurity.token.RefreshTokenService;
+import com.smart.jwtsecurity.token.TokenVersions;
+import com.smart.jwtsecurity.util.JwtUtil;
+
+/**
+ * Refresh rotation, single-token revocation and revoke-all, end to end;
+ * failed logins counted per account.
+ *
+ * Tokens are issued directly rather than through /login, which is rate
+ * limited per client address; the login test spreads its attempts over
+ * addresses. Each test gets its own user.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class AuthControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenVersions tokenVersions;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    private MockMvc mvc;
+    private UserDetails user;
+
+    @BeforeEach
+    void setUp() {
+
+        mvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+
+        String username = "auth-test-" + UUID.randomUUID();
+        userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@test.local")
+                .password("unused")
+                .enabled(true)
+                .roles(new HashSet<>(Set.of(RoleConstants.ROLE_USER)))
+                .build());
+        user = userDetailsService.loadUserByUsername(username);
+    }
+
+    @Test
+    void reusedRefreshTokenRevokesItsFamily() throws Exception {
+
+        String first = refreshTokenService.issue(user);
+        String second = JsonPath.read(refresh(first, 200), "$.refreshToken");
+
+        // The consumed token comes back: it leaked, so the family goes
+        refresh(first, 401);
+        refresh(second, 401);
+    }
+
+    @Test
+    void revokedAccessTokenIsRejected() throws Exception {
+
+        String token = bearer();
+        mvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+
+        mvc.perform(post("/token/revoke").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void revokeAllRejectsEarlierTokens() throws Exception {
+
+        String earlier = bearer();
+        String refreshToken = refreshTokenService.issue(user);
+
+        mvc.perform(post("/token/revoke-all").header(HttpHeaders.AUTHORIZATION, earlier))
+                .andExpect(status().isNoContent());
+
+        mvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, earlier))
+                .andExpect(status().isUnauthorized());
+        refresh(refreshToken, 401);
+
+        // Tokens issued under the new version are accepted
+        mvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, bearer()))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void usernameAndEmailShareOneFailureBudget() throws Exception {
+
+        String username = "login-test-" + UUID.randomUUID();
+        String email = username + "@test.local";
+        userRepository.save(User.builder()
+                .username(username)
+                .email(email)
+                .password(passwordEncoder.encode("right-password"))
+                .enabled(true)
+                .roles(new HashSet<>(Set.of(RoleConstants.ROLE_USER)))
+                .build());
+
+        // Alternating identifiers, one address per attempt
+        int freeFailures = rateLimitProperties.getAccount().getFreeFailures();
+        for (int i = 0; i < freeFailures; i++) {
+            login(i % 2 == 0 ? username : email, "wrong-password", "10.25." + i + ".1", 401);
+        }
+
+        // Throttled on either identifier, right password or not
+        login(username, "right-password", "10.25.100.1", 429)
+                .andExpect(jsonPath("$.message").value("Too many failed logins for this account. Please try again later."));
+        login(email, "right-password", "10.25.101.1", 429);
+    }
+
+    private ResultActions login(
+            String usernameOrEmail, String password, String address, int expectedStatus) throws Exception {
+        return mvc.perform(post("/login")
+                        .with(request -> {
+                            request.setRemoteAddr(address);
+                            return request;
+                        })
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"usernameOrEmail": "%s", "password": "%s"}
+                                """.formatted(usernameOrEmail, password)))
+                .andExpect(status().is(expectedStatus));
+    }
+
+    private String refresh(String refreshToken, int expectedStatus) throws Exception {
+        return mvc.perform(post("/token/refresh")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"refreshToken": "%s"}
+                                """.formatted(refreshToken)))
+                .andExpect(status().is(expectedStatus))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+    }
+
+    private String bearer() {
+        return "Bearer " + jwtUtil.generateToken(user, tokenVersions.current(user.getUsername()));
+    }
+}
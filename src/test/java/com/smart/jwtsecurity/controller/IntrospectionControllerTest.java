@@ -0,0 +1,119 @@
+package com.smart.jwtsecurity.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.jayway.jsonpath.JsonPath;
+import com.smart.jwtsecurity.config.IntrospectionProperties;
+import com.smart.jwtsecurity.token.TokenDenylist;
+import com.smart.jwtsecurity.util.JwtUtil;
+import com.smart.jwtsecurity.util.VerifiedToken;
+import com.smart.jwtsecurity.util.VerifiedTokenCache;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * A batch mixing valid, revoked and garbage tokens, spread over several
+ * chunks: each result belongs to the token at the same position.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class IntrospectionControllerTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private IntrospectionProperties properties;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void mixedBatchReportsEachTokensOwnState() throws Exception {
+
+        String service = token("introspect-service-" + UUID.randomUUID(), "SERVICE");
+
+        List<String> tokens = new ArrayList<>();
+        List<String> subjects = new ArrayList<>();
+        for (int i = 0; i < 3 * properties.getChunkSize(); i++) {
+            String subject = "introspect-user-" + i + "-" + UUID.randomUUID();
+            String token = token(subject, "USER");
+            switch (i % 3) {
+                case 0 -> subjects.add(subject);
+                case 1 -> {
+                    VerifiedToken verified = verifiedTokenCache.validate(token).token();
+                    tokenDenylist.revoke(verified.jti(), verified.expiresAtMillis());
+                    subjects.add(null);
+                }
+                default -> {
+                    token = "garbage-" + i;
+                    subjects.add(null);
+                }
+            }
+            tokens.add(token);
+        }
+
+        String body = mvc.perform(post("/token/introspect")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + service)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(JsonMapper.shared().writeValueAsString(new Request(tokens))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<Boolean> active = JsonPath.read(body, "$.results[*].active");
+        assertThat(active).hasSize(tokens.size());
+
+        for (int i = 0; i < tokens.size(); i++) {
+            String subject = subjects.get(i);
+            assertThat(active.get(i)).as("token %d", i).isEqualTo(subject != null);
+            if (subject != null) {
+                assertThat((String) JsonPath.read(body, "$.results[" + i + "].sub")).isEqualTo(subject);
+            }
+        }
+    }
+
+    private String token(String username, String role) {
+        UserDetails user = User.withUsername(username).password("unused").roles(role).build();
+        return jwtUtil.generateToken(user, 0);
+    }
+
+    private record Request(List<String> tokens) {
+    }
+}
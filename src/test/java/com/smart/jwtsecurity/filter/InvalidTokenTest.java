@@ -0,0 +1,89 @@
+package com.smart.jwtsecurity.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.smart.jwtsecurity.util.TokenValidation;
+import com.smart.jwtsecurity.util.VerifiedTokenCache;
+
+/**
+ * Garbage bearer tokens: validation reports them without throwing, and
+ * the request gets the entry point's fixed 401 body.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class InvalidTokenTest {
+
+    /**
+     * {"alg":"HS256"}, the header JwtUtil emits.
+     */
+    private static final String HS256_HEADER = "eyJhbGciOiJIUzI1NiJ9.";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    static Stream<String> garbage() {
+        return Stream.of(
+                "garbage",
+                "a.b.c",
+                "...",
+                HS256_HEADER + "e30.",
+                HS256_HEADER + "😀😀😀😀.x",
+                "eyJhbGciOiJub25lIn0.e30.",
+                "x".repeat(8192)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("garbage")
+    void garbageTokenGetsFixed401(String token) throws Exception {
+
+        TokenValidation result = verifiedTokenCache.validate(token);
+        assertThat(result.isValid()).isFalse();
+
+        byte[] body = mvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.error").value("UNAUTHORIZED"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        // Identical bytes every time: the preallocated body
+        byte[] anonymous = mvc.perform(get("/api/user"))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertThat(body).isEqualTo(anonymous);
+    }
+}
@@ -0,0 +1,127 @@
+package com.smart.jwtsecurity.filter;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.smart.jwtsecurity.config.JwtProperties;
+import com.smart.jwtsecurity.security.RoleConstants;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Role claims through the whole filter chain: only ROLE_ADMIN, in either
+ * claim form (roles list or rm bitmask), opens /admin/**.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class JwtAuthorizationFilterTest {
+
+    private static final String IMPORT = "/admin/users/import";
+    private static final String NDJSON = "application/x-ndjson";
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JwtProperties properties;
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        mvc = MockMvcBuilders.webAppContextSetup(context)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    void adminInRolesClaimIsAllowed() throws Exception {
+        mvc.perform(post(IMPORT).contentType(NDJSON).content("")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(jwt -> jwt.claim("roles",
+                                List.of(RoleConstants.ROLE_USER, RoleConstants.ROLE_ADMIN)))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void adminInRoleMaskIsAllowed() throws Exception {
+        mvc.perform(post(IMPORT).contentType(NDJSON).content("")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(jwt -> jwt.claim("rm", RoleConstants.ROLE_ADMIN_BIT))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userRoleIsForbidden() throws Exception {
+        mvc.perform(post(IMPORT).contentType(NDJSON).content("")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(jwt -> jwt.claim("roles",
+                                List.of(RoleConstants.ROLE_USER)))))
+                .andExpect(status().isForbidden());
+
+        mvc.perform(post(IMPORT).contentType(NDJSON).content("")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(jwt -> jwt.claim("rm", RoleConstants.ROLE_USER_BIT))))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void missingRoleClaimIsForbidden() throws Exception {
+        String token = bearer(jwt -> {});
+
+        mvc.perform(post(IMPORT).contentType(NDJSON).content("")
+                        .header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isForbidden());
+
+        // Still authenticated: role-free endpoints stay open
+        mvc.perform(get("/api/user").header(HttpHeaders.AUTHORIZATION, token))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unknownRoleStringsGrantNothing() throws Exception {
+        mvc.perform(post(IMPORT).contentType(NDJSON).content("")
+                        .header(HttpHeaders.AUTHORIZATION, bearer(jwt -> jwt.claim("roles",
+                                List.of("ADMIN", "role_admin", "ROLE_ADMIN ")))))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * HS256 token as JwtUtil would issue it, with the role claim left to
+     * the caller.
+     */
+    private String bearer(Consumer<JwtBuilder> roles) {
+
+        long now = System.currentTimeMillis();
+        JwtBuilder jwt = Jwts.builder()
+                .setSubject("role-test-" + UUID.randomUUID())
+                .setId(UUID.randomUUID().toString())
+                .setIssuer(properties.getIssuer())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + 60_000))
+                .claim("ver", 0);
+        roles.accept(jwt);
+
+        return "Bearer " + jwt
+                .signWith(Keys.hmacShaKeyFor(properties.getSecret().getBytes(StandardCharsets.UTF_8)),
+                        SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
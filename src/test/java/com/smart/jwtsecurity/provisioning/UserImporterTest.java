@@ -0,0 +1,114 @@
+package com.smart.jwtsecurity.provisioning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.smart.jwtsecurity.config.UserImportProperties;
+
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Records the password encoder cannot take are reported on their own
+ * line; the rest of the import goes on to the final report.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class UserImporterTest {
+
+    @Autowired
+    private UserImporter userImporter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Test
+    void passwordOverSeventyTwoBytesIsInvalid() throws IOException {
+
+        String prefix = "import-" + UUID.randomUUID() + "-";
+        String body = record(prefix + "long", "x".repeat(80)) + "\n"
+                // 36 two-byte characters: 72 bytes, still accepted
+                + record(prefix + "limit", "é".repeat(36)) + "\n"
+                + record(prefix + "multibyte", "é".repeat(37)) + "\n"
+                + record(prefix + "ok", "secret-password") + "\n";
+
+        ImportReport report = userImporter.importUsers(new StringReader(body), ImportFormat.NDJSON, progress -> {});
+
+        assertThat(report.processed()).isEqualTo(4);
+        assertThat(report.invalid()).isEqualTo(2);
+        assertThat(report.created()).isEqualTo(2);
+        assertThat(report.toJson(true))
+                .contains("line 1: password longer than 72 bytes")
+                .contains("line 3: password longer than 72 bytes");
+        assertThat(users(prefix)).isEqualTo(2);
+    }
+
+    @Test
+    void hashingFailureOnlyLosesItsOwnRecord() throws IOException {
+
+        PasswordEncoder refusing = new PasswordEncoder() {
+
+            @Override
+            public String encode(CharSequence rawPassword) {
+                if ("refused".contentEquals(rawPassword)) {
+                    throw new IllegalArgumentException("refused by encoder");
+                }
+                return passwordEncoder.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return passwordEncoder.matches(rawPassword, encodedPassword);
+            }
+        };
+        UserImporter importer = new UserImporter(
+                jdbcTemplate, transactionTemplate, refusing, jsonMapper, new UserImportProperties());
+
+        try {
+            String prefix = "import-" + UUID.randomUUID() + "-";
+            String body = record(prefix + "a", "secret-password") + "\n"
+                    + record(prefix + "b", "refused") + "\n"
+                    + record(prefix + "c", "secret-password") + "\n";
+
+            ImportReport report = importer.importUsers(new StringReader(body), ImportFormat.NDJSON, progress -> {});
+
+            assertThat(report.processed()).isEqualTo(3);
+            assertThat(report.failed()).isEqualTo(1);
+            assertThat(report.created()).isEqualTo(2);
+            assertThat(users(prefix)).isEqualTo(2);
+        } finally {
+            importer.shutdown();
+        }
+    }
+
+    private int users(String prefix) {
+        Integer users = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username LIKE ?", Integer.class, prefix + "%");
+        return users == null ? 0 : users;
+    }
+
+    private String record(String username, String password) {
+        return """
+                {"username": "%s", "email": "%s@test.local", "password": "%s"}
+                """.formatted(username, username, password).strip();
+    }
+}
@@ -0,0 +1,75 @@
+package com.smart.jwtsecurity.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.smart.jwtsecurity.config.RateLimitProperties;
+
+/**
+ * Free failures cost nothing; after them the delay doubles per failure
+ * up to the lockout, for that account only.
+ */
+class AccountFailureTrackerTest {
+
+    private static final int FREE_FAILURES = 3;
+    private static final long BASE_DELAY_MS = 60_000;
+    private static final long MAX_DELAY_MS = 600_000;
+
+    private final AccountFailureTracker tracker = new AccountFailureTracker(properties());
+
+    @Test
+    void delayDoublesUpToTheLockout() {
+
+        assertThat(tracker.delay(FREE_FAILURES)).isEqualTo(BASE_DELAY_MS);
+        assertThat(tracker.delay(FREE_FAILURES + 1)).isEqualTo(2 * BASE_DELAY_MS);
+        assertThat(tracker.delay(FREE_FAILURES + 3)).isEqualTo(8 * BASE_DELAY_MS);
+        assertThat(tracker.delay(FREE_FAILURES + 4)).isEqualTo(MAX_DELAY_MS);
+
+        // No overflow however many failures pile up
+        assertThat(tracker.delay(Integer.MAX_VALUE)).isEqualTo(MAX_DELAY_MS);
+    }
+
+    @Test
+    void retryAfterStartsOnceFreeFailuresAreUsed() {
+
+        for (int i = 0; i < FREE_FAILURES - 1; i++) {
+            tracker.recordFailure("alice");
+        }
+        assertThat(tracker.retryAfterMillis("alice")).isZero();
+
+        tracker.recordFailure("alice");
+        assertThat(tracker.retryAfterMillis("alice")).isBetween(1L, BASE_DELAY_MS);
+
+        tracker.recordFailure("alice");
+        assertThat(tracker.retryAfterMillis("alice")).isBetween(BASE_DELAY_MS + 1, 2 * BASE_DELAY_MS);
+
+        // Same account however it is typed; others unaffected
+        assertThat(tracker.retryAfterMillis(" ALICE ")).isPositive();
+        assertThat(tracker.retryAfterMillis("bob")).isZero();
+    }
+
+    @Test
+    void disabledTrackerNeverDelays() {
+
+        RateLimitProperties properties = properties();
+        properties.getAccount().setEnabled(false);
+        AccountFailureTracker disabled = new AccountFailureTracker(properties);
+
+        for (int i = 0; i < 10 * FREE_FAILURES; i++) {
+            disabled.recordFailure("alice");
+        }
+        assertThat(disabled.retryAfterMillis("alice")).isZero();
+    }
+
+    private static RateLimitProperties properties() {
+
+        RateLimitProperties properties = new RateLimitProperties();
+        RateLimitProperties.Account account = properties.getAccount();
+        account.setFreeFailures(FREE_FAILURES);
+        account.setBaseDelayMs(BASE_DELAY_MS);
+        account.setMaxDelayMs(MAX_DELAY_MS);
+        account.setWidth(1024);
+        return properties;
+    }
+}
@@ -0,0 +1,64 @@
+package com.smart.jwtsecurity.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+class CountMinSketchTest {
+
+    private static final int THREADS = 8;
+    private static final int ADDS_PER_THREAD = 20_000;
+
+    @Test
+    void concurrentAddsOfOneKeyAreAllCounted() throws Exception {
+
+        CountMinSketch sketch = new CountMinSketch(64, 4);
+        int[] cells = { 3, 64 + 17, 128 + 40, 192 + 63 };
+
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> adders = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                adders.add(threads.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ADDS_PER_THREAD; i++) {
+                        sketch.add(cells);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> adder : adders) {
+                adder.get();
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+
+        assertThat(sketch.estimate(cells)).isEqualTo(THREADS * ADDS_PER_THREAD);
+    }
+
+    @Test
+    void collisionsOnlyOvercount() {
+
+        CountMinSketch sketch = new CountMinSketch(64, 2);
+        int[] first = { 5, 64 + 9 };
+        int[] second = { 5, 64 + 10 };
+
+        sketch.add(first);
+        sketch.add(first);
+        sketch.add(second);
+
+        assertThat(sketch.estimate(first)).isEqualTo(2);
+        assertThat(sketch.estimate(second)).isEqualTo(1);
+        assertThat(sketch.get(5)).isEqualTo(3);
+    }
+}
@@ -0,0 +1,62 @@
+package com.smart.jwtsecurity.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.smart.jwtsecurity.config.RateLimitProperties;
+
+/**
+ * Sliding-window limit across an aligned window boundary, on a short
+ * window so the test can wait for the boundary.
+ */
+class InMemoryRateLimitStoreTest {
+
+    private static final int MAX_ATTEMPTS = 5;
+    private static final long WINDOW_MS = 1_000;
+
+    @Test
+    void burstAcrossWindowBoundaryIsStillLimited() throws InterruptedException {
+
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(properties());
+
+        // Use up the limit in the last tenth of a window...
+        sleepUntilWindowOffset(900);
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            assertThat(store.tryAcquire("10.0.0.1")).isTrue();
+        }
+        assertThat(store.tryAcquire("10.0.0.1")).isFalse();
+
+        // ...and the next window still carries most of it
+        sleepUntilWindowOffset(20);
+        assertThat(store.tryAcquire("10.0.0.1")).isFalse();
+        assertThat(store.tryAcquire("10.0.0.2")).isTrue();
+    }
+
+    @Test
+    void limitFreesUpAfterTwoWindows() throws InterruptedException {
+
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore(properties());
+
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            store.tryAcquire("10.0.0.1");
+        }
+        assertThat(store.tryAcquire("10.0.0.1")).isFalse();
+
+        Thread.sleep(2 * WINDOW_MS);
+        assertThat(store.tryAcquire("10.0.0.1")).isTrue();
+    }
+
+    private static void sleepUntilWindowOffset(long offsetMs) throws InterruptedException {
+        long now = System.currentTimeMillis();
+        long wait = Math.floorMod(offsetMs - now % WINDOW_MS, WINDOW_MS);
+        Thread.sleep(wait == 0 ? WINDOW_MS : wait);
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxAttempts(MAX_ATTEMPTS);
+        properties.setWindowMs(WINDOW_MS);
+        return properties;
+    }
+}
@@ -0,0 +1,116 @@
+package com.smart.jwtsecurity.ratelimit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.smart.jwtsecurity.config.RateLimitProperties;
+
+/**
+ * Two JdbcRateLimitStore instances on one H2 database, as two replicas
+ * would run against MySQL. Flushes are driven by the test; the
+ * background flusher is pushed out of the way by a long interval.
+ */
+class JdbcRateLimitStoreTest {
+
+    private static final int MAX_ATTEMPTS = 5;
+
+    private JdbcTemplate database;
+    private JdbcRateLimitStore first;
+    private JdbcRateLimitStore second;
+
+    @BeforeEach
+    void setUp() {
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:ratelimit" + System.nanoTime() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        database = new JdbcTemplate(dataSource);
+
+        first = new JdbcRateLimitStore(database, properties(100));
+        second = new JdbcRateLimitStore(database, properties(100));
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.shutdown();
+        second.shutdown();
+    }
+
+    @Test
+    void replicasShareOneLimit() {
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(first.tryAcquire("10.0.0.1")).isTrue();
+        }
+        first.flush();
+
+        // The second replica sees the first one's attempts once it refreshes
+        assertThat(second.tryAcquire("10.0.0.1")).isTrue();
+        second.flush();
+
+        assertThat(second.tryAcquire("10.0.0.1")).isTrue();
+        assertThat(second.tryAcquire("10.0.0.1")).isFalse();
+
+        second.flush();
+        assertThat(attempts("10.0.0.1")).isEqualTo(MAX_ATTEMPTS);
+    }
+
+    @Test
+    void otherKeysAreNotLimited() {
+
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            first.tryAcquire("10.0.0.1");
+        }
+        first.flush();
+
+        // Unknown to the second replica until its next flush
+        assertThat(second.tryAcquire("10.0.0.1")).isTrue();
+        second.flush();
+
+        assertThat(second.tryAcquire("10.0.0.1")).isFalse();
+        assertThat(second.tryAcquire("10.0.0.2")).isTrue();
+    }
+
+    @Test
+    void evictedCountersAreStillWritten() {
+
+        JdbcRateLimitStore small = new JdbcRateLimitStore(database, properties(1));
+        try {
+            for (int i = 0; i < 3; i++) {
+                small.tryAcquire("10.0.0.1");
+            }
+            small.tryAcquire("10.0.0.2");
+            small.tryAcquire("10.0.0.2");
+
+            small.flush();
+
+            assertThat(small.trackedKeys()).isEqualTo(1);
+            assertThat(attempts("10.0.0.1")).isEqualTo(3);
+            assertThat(attempts("10.0.0.2")).isEqualTo(2);
+        } finally {
+            small.shutdown();
+        }
+    }
+
+    private int attempts(String key) {
+        Integer attempts = database.queryForObject(
+                "SELECT SUM(attempts) FROM login_rate_limit WHERE rl_key = ?", Integer.class, key);
+        return attempts == null ? 0 : attempts;
+    }
+
+    private static RateLimitProperties properties(long maxTrackedKeys) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxAttempts(MAX_ATTEMPTS);
+        properties.setWindowMs(3_600_000);
+        properties.setMaxTrackedKeys(maxTrackedKeys);
+        properties.getJdbc().setFlushIntervalMs(3_600_000);
+        return properties;
+    }
+}
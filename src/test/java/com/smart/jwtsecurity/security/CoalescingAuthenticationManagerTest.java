@@ -0,0 +1,154 @@
+package com.smart.jwtsecurity.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Coalescing must never change a result: only identical, concurrent
+ * logins share a flight, and they get exactly what the leader got.
+ *
+ * The delegate blocks until released, so the test decides which logins
+ * overlap.
+ */
+class CoalescingAuthenticationManagerTest {
+
+    private final ExecutorService threads = Executors.newCachedThreadPool();
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        threads.shutdownNow();
+    }
+
+    @Test
+    void differentPasswordsNeverShareAFlight() throws Exception {
+
+        CoalescingAuthenticationManager manager = new CoalescingAuthenticationManager(blocking(null));
+
+        Future<Authentication> first = login(manager, "admin", "right");
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<Authentication> second = login(manager, "admin", "wrong");
+        awaitCalls(2);
+        assertThat(manager.coalescedCount()).isZero();
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS).getCredentials()).isEqualTo("right");
+        assertThat(second.get(5, TimeUnit.SECONDS).getCredentials()).isEqualTo("wrong");
+    }
+
+    @Test
+    void waitersGetTheLeadersException() throws Exception {
+
+        BadCredentialsException failure = new BadCredentialsException("Bad credentials");
+        CoalescingAuthenticationManager manager = new CoalescingAuthenticationManager(blocking(failure));
+
+        Future<Authentication> leader = login(manager, "admin", "guess");
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        List<Future<Authentication>> waiters = List.of(
+                login(manager, "admin", "guess"),
+                login(manager, "admin", "guess")
+        );
+        awaitCoalesced(manager, 2);
+
+        release.countDown();
+        assertThat(cause(leader)).isSameAs(failure);
+        for (Future<Authentication> waiter : waiters) {
+            assertThat(cause(waiter)).isSameAs(failure);
+        }
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    @Test
+    void finishedFlightIsNotReused() {
+
+        release.countDown();
+        BadCredentialsException failure = new BadCredentialsException("Bad credentials");
+        CoalescingAuthenticationManager manager = new CoalescingAuthenticationManager(blocking(failure));
+
+        assertThatThrownBy(() -> manager.authenticate(token("admin", "guess"))).isSameAs(failure);
+        assertThat(manager.inFlightCount()).isZero();
+
+        assertThatThrownBy(() -> manager.authenticate(token("admin", "guess"))).isSameAs(failure);
+        assertThat(manager.inFlightCount()).isZero();
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(manager.coalescedCount()).isZero();
+    }
+
+    /**
+     * Counts calls, signals entry, waits for release; then throws failure,
+     * or authenticates whatever was presented.
+     */
+    private AuthenticationManager blocking(RuntimeException failure) {
+        return authentication -> {
+            calls.incrementAndGet();
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(
+                    authentication.getName(), authentication.getCredentials(), List.of());
+        };
+    }
+
+    private Future<Authentication> login(AuthenticationManager manager, String username, String password) {
+        return threads.submit(() -> manager.authenticate(token(username, password)));
+    }
+
+    private void awaitCalls(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (calls.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(calls.get()).isEqualTo(expected);
+    }
+
+    private static void awaitCoalesced(CoalescingAuthenticationManager manager, int expected)
+            throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (manager.coalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(manager.coalescedCount()).isEqualTo(expected);
+    }
+
+    private static Throwable cause(Future<Authentication> login) throws Exception {
+        try {
+            login.get(5, TimeUnit.SECONDS);
+            throw new AssertionError("login succeeded");
+        } catch (ExecutionException ex) {
+            return ex.getCause();
+        }
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
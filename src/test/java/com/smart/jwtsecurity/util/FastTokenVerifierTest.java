@@ -0,0 +1,173 @@
+package com.smart.jwtsecurity.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+
+import javax.crypto.SecretKey;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.smart.jwtsecurity.config.JwtProperties;
+import com.smart.jwtsecurity.metrics.AuthMetrics;
+import com.smart.jwtsecurity.util.TokenValidation.Outcome;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Differential test: every token gets the same TokenValidation (outcome
+ * and claims) from the fast path as from JJWT alone.
+ */
+class FastTokenVerifierTest {
+
+    private static final String SECRET =
+            "differential-test-secret-differential-test-secret-differential-test-secret";
+
+    private static final String ISSUER = "smart-auth-service";
+
+    private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+    private static final JwtUtil ISSUING = jwtUtil(false);
+    private static final JwtUtil ISSUING_COMPACT = jwtUtil(true);
+
+    private static final FastTokenVerifier FAST = new FastTokenVerifier(ISSUING);
+
+    private static final VerifiedTokenCache WITH_FAST_PATH = verifier(true);
+    private static final VerifiedTokenCache JJWT_ONLY = verifier(false);
+
+    static Stream<Arguments> tokens() {
+
+        UserDetails admin = User.withUsername("admin")
+                .password("unused")
+                .roles("ADMIN", "USER")
+                .build();
+        String valid = ISSUING.generateToken(admin, 3);
+        int dot = valid.lastIndexOf('.');
+
+        return Stream.of(
+                Arguments.of("valid", valid, Outcome.VALID, true),
+                Arguments.of("valid, rm claim", ISSUING_COMPACT.generateToken(admin, 0), Outcome.VALID, true),
+                Arguments.of("valid, escaped subject",
+                        ISSUING.generateToken(User.withUsername("a\"b\\c/é").password("x").roles("USER").build(), 0),
+                        Outcome.VALID, true),
+                Arguments.of("expired", jjwt(ISSUER, -60_000).signWith(KEY, SignatureAlgorithm.HS256).compact(),
+                        Outcome.EXPIRED, true),
+                Arguments.of("wrong issuer", jjwt("someone-else", 60_000).signWith(KEY, SignatureAlgorithm.HS256).compact(),
+                        Outcome.WRONG_ISSUER, true),
+                Arguments.of("bad signature", valid.substring(0, dot + 1) + flip(valid.charAt(dot + 1)) + valid.substring(dot + 2),
+                        Outcome.BAD_SIGNATURE, true),
+                Arguments.of("signed with another key", jjwt(ISSUER, 60_000)
+                                .signWith(Keys.hmacShaKeyFor(new byte[32]), SignatureAlgorithm.HS256).compact(),
+                        Outcome.BAD_SIGNATURE, true),
+                Arguments.of("truncated signature", valid.substring(0, valid.length() - 4),
+                        Outcome.BAD_SIGNATURE, true),
+                Arguments.of("HS384", jjwt(ISSUER, 60_000).signWith(KEY, SignatureAlgorithm.HS384).compact(),
+                        Outcome.VALID, false),
+                Arguments.of("alg none", jjwt(ISSUER, 60_000).compact(), Outcome.INVALID, false),
+                // JJWT's base64 decoder skips characters outside the alphabet
+                Arguments.of("malformed base64 payload", JwtUtil.HEADER_SEGMENT + "e30*!." + valid.substring(dot + 1),
+                        Outcome.BAD_SIGNATURE, false),
+                Arguments.of("malformed base64 signature", valid.substring(0, dot + 1) + "*!" + valid.substring(dot + 1),
+                        Outcome.VALID, false),
+                Arguments.of("payload not JSON", JwtUtil.HEADER_SEGMENT + base64("not json") + "." + valid.substring(dot + 1),
+                        Outcome.INVALID, false),
+                Arguments.of("payload invalid JSON", hs256(base64("{\"sub\":}")), Outcome.MALFORMED, false),
+                Arguments.of("payload with surrounding whitespace", hs256(base64(" " + payload(valid))),
+                        Outcome.INVALID, false),
+                Arguments.of("no signature", valid.substring(0, dot + 1), Outcome.INVALID, false),
+                Arguments.of("non-ASCII payload", JwtUtil.HEADER_SEGMENT + "\uD83D\uDE00\uD83D\uDE00\uD83D\uDE00\uD83D\uDE00.x",
+                        Outcome.INVALID, false),
+                Arguments.of("non-ASCII signature", valid.substring(0, dot + 1) + "\u00e9" + valid.substring(dot + 1),
+                        Outcome.VALID, false),
+                Arguments.of("extra dot", valid + ".x", Outcome.MALFORMED, true),
+                Arguments.of("two segments", valid.substring(0, dot), Outcome.MALFORMED, true),
+                Arguments.of("no dots", "abc", Outcome.MALFORMED, true),
+                Arguments.of("empty", "", Outcome.MALFORMED, true)
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("tokens")
+    void fastPathAgreesWithJjwt(String name, String token, Outcome expected, boolean fastPathDecides) {
+
+        TokenValidation reference = JJWT_ONLY.validate(token);
+        TokenValidation result = WITH_FAST_PATH.validate(token);
+
+        assertThat(reference.outcome()).isEqualTo(expected);
+        assertThat(result.outcome()).isEqualTo(reference.outcome());
+        assertThat(result.token()).isEqualTo(reference.token());
+
+        // The case exercises the fast path itself, not the JJWT fallback
+        assertThat(FAST.verify(token) != null).isEqualTo(fastPathDecides);
+    }
+
+    private static JwtBuilder jjwt(String issuer, long expiresInMs) {
+
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject("user")
+                .setId("jti-1")
+                .setIssuer(issuer)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expiresInMs))
+                .claim("ver", 1)
+                .claim("roles", List.of("ROLE_USER"));
+    }
+
+    /**
+     * Correctly signed HS256 token around an arbitrary payload segment.
+     */
+    private static String hs256(String payloadSegment) {
+        String signingInput = JwtUtil.HEADER_SEGMENT + payloadSegment;
+        byte[] signature = ISSUING.hmac().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+        return signingInput + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    }
+
+    private static String payload(String token) {
+        String segment = token.substring(token.indexOf('.') + 1, token.lastIndexOf('.'));
+        return new String(Base64.getUrlDecoder().decode(segment), StandardCharsets.UTF_8);
+    }
+
+    private static char flip(char c) {
+        return c == 'A' ? 'B' : 'A';
+    }
+
+    private static String base64(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static JwtUtil jwtUtil(boolean compactRoles) {
+
+        JwtProperties properties = properties(true);
+        properties.setCompactRoles(compactRoles);
+
+        JwtUtil jwtUtil = new JwtUtil(properties, new JwtKeyring(properties), AuthMetrics.DISABLED);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    private static VerifiedTokenCache verifier(boolean fastVerify) {
+        return new VerifiedTokenCache(ISSUING, properties(fastVerify), AuthMetrics.DISABLED);
+    }
+
+    private static JwtProperties properties(boolean fastVerify) {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(SECRET);
+        properties.setIssuer(ISSUER);
+        properties.setExpirationMs(60_000);
+        properties.setFastVerify(fastVerify);
+        properties.getCache().setEnabled(false);
+        return properties;
+    }
+}
@@ -0,0 +1,2 @@
+-- H2 counterpart of schema-mysql.sql
+CREATE INDEX IF NOT EXISTS idx_users_token_version_at ON users (token_version_at);